@@ -0,0 +1,134 @@
+package com.expensetracker.common.id;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates RFC 9562 version 7 UUIDs: a 48-bit Unix millisecond timestamp followed by a 42-bit
+ * counter and 32 random bits. Each thread keeps its own timestamp and counter, so generation takes
+ * no lock and ids from one thread are strictly increasing, even when the clock steps back. The
+ * counter starts at a random value every millisecond, which together with the random bits keeps ids
+ * from different threads and instances apart.
+ *
+ * <p>A node or shard id can take the top bits of the random part, so the origin of an id can be
+ * read back and two nodes never collide, whatever their clocks. Ids are unique, not unguessable.
+ *
+ * <pre>{@code
+ * UUIDv7Generator.setDefault(new UUIDv7Generator(nodeId, 10));
+ * UUID id = UUIDv7Generator.nextId();
+ * UUID[] ids = UUIDv7Generator.nextIds(rows.size()); // for bulk inserts
+ * }</pre>
+ */
+public final class UUIDv7Generator {
+
+  /** Random bits a node id may take; at least 16 of the 32 stay random */
+  public static final int MAX_NODE_BITS = 16;
+
+  private static final int COUNTER_BITS = 42;
+  private static final int COUNTER_LOW_BITS = 30;
+  private static final long COUNTER_MAX = (1L << COUNTER_BITS) - 1;
+  // A new millisecond starts the counter in its lower half, leaving at least 2^41 increments
+  private static final long COUNTER_SEED_MASK = COUNTER_MAX >>> 1;
+
+  private static volatile UUIDv7Generator defaultGenerator = new UUIDv7Generator();
+
+  private final int nodeBits;
+  private final int nodeId;
+  private final int randomMask;
+  private final ThreadLocal<State> state = ThreadLocal.withInitial(State::new);
+
+  /** Ids with all 32 low bits random */
+  public UUIDv7Generator() {
+    this(0, 0);
+  }
+
+  /** Ids carrying nodeId in the top nodeBits of their 32 low bits */
+  public UUIDv7Generator(int nodeId, int nodeBits) {
+    if (nodeBits < 0 || nodeBits > MAX_NODE_BITS) {
+      throw new IllegalArgumentException("nodeBits must be between 0 and " + MAX_NODE_BITS);
+    }
+    if (nodeId < 0 || nodeId >= 1 << nodeBits) {
+      throw new IllegalArgumentException("nodeId does not fit in " + nodeBits + " bits");
+    }
+    this.nodeBits = nodeBits;
+    this.nodeId = nodeId;
+    this.randomMask = (int) ((1L << (Integer.SIZE - nodeBits)) - 1);
+  }
+
+  public static UUIDv7Generator getDefault() {
+    return defaultGenerator;
+  }
+
+  /** Replace the generator behind {@link #nextId()}, e.g. with one carrying this node's id */
+  public static void setDefault(UUIDv7Generator generator) {
+    defaultGenerator = generator;
+  }
+
+  public static UUID nextId() {
+    return defaultGenerator.next();
+  }
+
+  public static UUID[] nextIds(int count) {
+    return defaultGenerator.next(count);
+  }
+
+  /** The node id embedded in an id made by a generator using nodeBits */
+  public static int nodeIdOf(UUID id, int nodeBits) {
+    return nodeBits == 0 ? 0 : (int) (id.getLeastSignificantBits() & 0xFFFFFFFFL) >>> -nodeBits;
+  }
+
+  public UUID next() {
+    State current = state.get();
+    current.advance(System.currentTimeMillis());
+    return current.toUuid();
+  }
+
+  /** A block of increasing ids for one bulk insert, reading the clock once */
+  public UUID[] next(int count) {
+    State current = state.get();
+    long now = System.currentTimeMillis();
+    UUID[] ids = new UUID[count];
+    for (int i = 0; i < count; i++) {
+      current.advance(now);
+      ids[i] = current.toUuid();
+    }
+    return ids;
+  }
+
+  public int getNodeId() {
+    return nodeId;
+  }
+
+  public int getNodeBits() {
+    return nodeBits;
+  }
+
+  private final class State {
+    private long timestamp = -1;
+    private long counter;
+
+    private void advance(long now) {
+      if (now > timestamp) {
+        timestamp = now;
+        counter = ThreadLocalRandom.current().nextLong() & COUNTER_SEED_MASK;
+      } else if (++counter > COUNTER_MAX) {
+        // Borrow the next millisecond rather than repeat or reorder ids
+        timestamp++;
+        counter = ThreadLocalRandom.current().nextLong() & COUNTER_SEED_MASK;
+      }
+    }
+
+    private UUID toUuid() {
+      long msb = timestamp << 16 | 0x7000L | counter >>> COUNTER_LOW_BITS;
+      int low = ThreadLocalRandom.current().nextInt() & randomMask;
+      if (nodeBits > 0) {
+        low |= nodeId << -nodeBits;
+      }
+      long lsb =
+          Long.MIN_VALUE
+              | (counter & ((1L << COUNTER_LOW_BITS) - 1)) << Integer.SIZE
+              | low & 0xFFFFFFFFL;
+      return new UUID(msb, lsb);
+    }
+  }
+}
@@ -0,0 +1,24 @@
+package com.expensetracker.common.id;
+
+import java.util.UUID;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+/**
+ * Hibernate id generator backed by {@link UUIDv7Generator#nextId()}:
+ *
+ * <pre>{@code
+ * @Id
+ * @GeneratedValue(generator = "uuidv7")
+ * @GenericGenerator(name = "uuidv7", type = UUIDv7IdentifierGenerator.class)
+ * private UUID id;
+ * }</pre>
+ */
+public class UUIDv7IdentifierGenerator implements IdentifierGenerator {
+
+  @Override
+  public UUID generate(SharedSessionContractImplementor session, Object object) {
+    return UUIDv7Generator.nextId();
+  }
+}
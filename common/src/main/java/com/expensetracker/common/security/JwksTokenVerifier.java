@@ -0,0 +1,180 @@
+package com.expensetracker.common.security;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.Key;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+
+/**
+ * Verifies tokens issued by user-service in-process, using the public keys published at its {@code
+ * /.well-known/jwks.json} endpoint. Keys are cached and refreshed in the background, so a token
+ * signed with a known key is verified without touching the network. A token naming a kid that is
+ * not cached, including any token that arrives before the first successful fetch, makes the calling
+ * thread fetch the key set synchronously, waiting up to 5 seconds each to connect and for the
+ * response. Only one such fetch runs per minimum refresh interval; other tokens with unknown kids
+ * fail right away, so forged kids cannot flood the endpoint.
+ *
+ * <pre>{@code
+ * JwksTokenVerifier verifier =
+ *     new JwksTokenVerifier(URI.create("http://user-service:8080/.well-known/jwks.json"));
+ * verifier.start();
+ * Claims claims = verifier.verify(token); // null if the token is not valid
+ * }</pre>
+ */
+public class JwksTokenVerifier implements AutoCloseable {
+
+  public static final Duration DEFAULT_REFRESH_INTERVAL = Duration.ofMinutes(5);
+  public static final Duration DEFAULT_MIN_REFRESH_INTERVAL = Duration.ofSeconds(30);
+
+  private static final Duration CLOCK_SKEW = Duration.ofSeconds(30);
+  private static final Duration FETCH_TIMEOUT = Duration.ofSeconds(5);
+
+  private final URI jwksUri;
+  private final Duration refreshInterval;
+  private final long minRefreshIntervalNanos;
+  private final HttpClient httpClient;
+  private final JwtParser jwtParser;
+  private final ScheduledExecutorService scheduler;
+  private final AtomicLong lastFetchNanos;
+
+  private volatile Map<String, PublicKey> publicKeys = Map.of();
+
+  public JwksTokenVerifier(URI jwksUri) {
+    this(jwksUri, DEFAULT_REFRESH_INTERVAL, DEFAULT_MIN_REFRESH_INTERVAL);
+  }
+
+  public JwksTokenVerifier(URI jwksUri, Duration refreshInterval, Duration minRefreshInterval) {
+    this.jwksUri = jwksUri;
+    this.refreshInterval = refreshInterval;
+    this.minRefreshIntervalNanos = minRefreshInterval.toNanos();
+    this.lastFetchNanos = new AtomicLong(System.nanoTime() - minRefreshIntervalNanos);
+    this.httpClient = HttpClient.newBuilder().connectTimeout(FETCH_TIMEOUT).build();
+    this.jwtParser =
+        Jwts.parser().keyLocator(new KidLocator()).clockSkewSeconds(CLOCK_SKEW.toSeconds()).build();
+    this.scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "jwks-refresh");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  /** Fetch the keys once, failing if the endpoint is unreachable, then refresh them periodically */
+  public void start() throws IOException, InterruptedException {
+    refresh();
+    scheduler.scheduleWithFixedDelay(
+        this::refreshQuietly,
+        refreshInterval.toMillis(),
+        refreshInterval.toMillis(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Refresh the keys periodically, the first time right away, without failing while the endpoint is
+   * unreachable. Tokens that arrive before the first successful fetch trigger an on-demand one.
+   */
+  public void startInBackground() {
+    scheduler.scheduleWithFixedDelay(
+        this::refreshQuietly, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Verify the signature and expiration of a token and return its claims, or {@code null} if the
+   * token is not valid.
+   */
+  public Claims verify(String token) {
+    try {
+      return jwtParser.parseSignedClaims(token).getPayload();
+    } catch (JwtException | IllegalArgumentException ex) {
+      return null;
+    }
+  }
+
+  /** Replace the cached keys with the current JWK set */
+  public void refresh() throws IOException, InterruptedException {
+    lastFetchNanos.set(System.nanoTime());
+    HttpResponse<String> response =
+        httpClient.send(
+            HttpRequest.newBuilder(jwksUri).timeout(FETCH_TIMEOUT).GET().build(),
+            HttpResponse.BodyHandlers.ofString());
+    if (response.statusCode() != 200) {
+      throw new IOException("JWKS fetch from " + jwksUri + " returned " + response.statusCode());
+    }
+
+    JwkSet jwkSet = Jwks.setParser().build().parse(response.body());
+    Map<String, PublicKey> keys = new HashMap<>();
+    for (Jwk<?> jwk : jwkSet) {
+      if (jwk.getId() != null && jwk.toKey() instanceof PublicKey publicKey) {
+        keys.put(jwk.getId(), publicKey);
+      }
+    }
+    publicKeys = Map.copyOf(keys);
+  }
+
+  /** Kids of the cached keys */
+  public Set<String> getKeyIds() {
+    return publicKeys.keySet();
+  }
+
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+  }
+
+  // Keep serving the last good keys when a refresh fails
+  private void refreshQuietly() {
+    try {
+      refresh();
+    } catch (IOException | RuntimeException ex) {
+      // Retried on the next scheduled refresh or unknown kid
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  // Only one caller wins each minimum interval, the others fail fast on the unknown kid
+  private boolean claimOnDemandRefresh() {
+    long last = lastFetchNanos.get();
+    long now = System.nanoTime();
+    return now - last >= minRefreshIntervalNanos && lastFetchNanos.compareAndSet(last, now);
+  }
+
+  private class KidLocator extends LocatorAdapter<Key> {
+
+    @Override
+    protected Key locate(JwsHeader header) {
+      String kid = header.getKeyId();
+      if (kid == null) {
+        return null;
+      }
+      PublicKey publicKey = publicKeys.get(kid);
+      if (publicKey == null && claimOnDemandRefresh()) {
+        refreshQuietly();
+        publicKey = publicKeys.get(kid);
+      }
+      return publicKey;
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package com.expensetracker.common.id;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+class UUIDv7GeneratorTest {
+
+  private final UUIDv7Generator generator = new UUIDv7Generator();
+
+  @Test
+  void idsAreVersion7WithTheCurrentTime() {
+    long before = System.currentTimeMillis();
+    UUID id = generator.next();
+    long after = System.currentTimeMillis();
+
+    assertThat(id.version()).isEqualTo(7);
+    assertThat(id.variant()).isEqualTo(2);
+    assertThat(id.getMostSignificantBits() >>> 16).isBetween(before, after);
+  }
+
+  @Test
+  void idsFromOneThreadAreStrictlyIncreasing() {
+    List<UUID> ids = new ArrayList<>();
+    for (int i = 0; i < 100_000; i++) {
+      ids.add(generator.next());
+    }
+    Collections.addAll(ids, generator.next(10_000));
+
+    for (int i = 1; i < ids.size(); i++) {
+      assertThat(ids.get(i)).isGreaterThan(ids.get(i - 1));
+    }
+  }
+
+  @Test
+  void idsFromManyThreadsAreUnique() throws Exception {
+    Set<UUID> ids = ConcurrentHashMap.newKeySet();
+    List<Future<?>> futures = new ArrayList<>();
+    try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+      for (int t = 0; t < 16; t++) {
+        futures.add(
+            executor.submit(
+                () -> {
+                  for (int i = 0; i < 10_000; i++) {
+                    ids.add(generator.next());
+                  }
+                  Collections.addAll(ids, generator.next(10_000));
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    }
+
+    assertThat(ids).hasSize(16 * 20_000);
+  }
+
+  @Test
+  void nodeIdIsEmbeddedInEveryId() {
+    UUIDv7Generator node = new UUIDv7Generator(717, 10);
+
+    Set<UUID> ids = new HashSet<>();
+    Collections.addAll(ids, node.next(1000));
+    ids.add(node.next());
+
+    assertThat(ids).hasSize(1001).allMatch(id -> UUIDv7Generator.nodeIdOf(id, 10) == 717);
+  }
+
+  @Test
+  void nodeIdMustFitItsBits() {
+    assertThatIllegalArgumentException().isThrownBy(() -> new UUIDv7Generator(1024, 10));
+    assertThatIllegalArgumentException().isThrownBy(() -> new UUIDv7Generator(1, 17));
+  }
+}
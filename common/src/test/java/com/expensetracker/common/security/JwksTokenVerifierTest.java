@@ -0,0 +1,107 @@
+package com.expensetracker.common.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.security.KeyPair;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.jackson.io.JacksonSerializer;
+import io.jsonwebtoken.security.Jwks;
+
+class JwksTokenVerifierTest {
+
+  private final AtomicReference<byte[]> jwks = new AtomicReference<>();
+  private final AtomicInteger fetches = new AtomicInteger();
+
+  private HttpServer server;
+  private JwksTokenVerifier verifier;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext(
+        "/.well-known/jwks.json",
+        exchange -> {
+          fetches.incrementAndGet();
+          byte[] body = jwks.get();
+          exchange.sendResponseHeaders(200, body.length);
+          exchange.getResponseBody().write(body);
+          exchange.close();
+        });
+    server.start();
+    verifier =
+        new JwksTokenVerifier(
+            URI.create(
+                "http://localhost:" + server.getAddress().getPort() + "/.well-known/jwks.json"),
+            Duration.ofHours(1),
+            Duration.ZERO);
+  }
+
+  @AfterEach
+  void tearDown() {
+    verifier.close();
+    server.stop(0);
+  }
+
+  @Test
+  void verifiesTokensWithCachedKeys() throws Exception {
+    KeyPair keyPair = Jwts.SIG.ES256.keyPair().build();
+    publish("key-1", keyPair);
+    verifier.start();
+
+    String token = sign("key-1", keyPair, 60000L);
+
+    assertThat(verifier.verify(token).getSubject()).isEqualTo("jack12");
+    assertThat(verifier.verify(token)).isNotNull();
+    assertThat(fetches).hasValue(1);
+    assertThat(verifier.verify(token.substring(0, token.length() - 4) + "AAAA")).isNull();
+    assertThat(verifier.verify(sign("key-1", keyPair, -60000L))).isNull();
+  }
+
+  @Test
+  void fetchesKeysForUnknownKid() throws Exception {
+    KeyPair previous = Jwts.SIG.ES256.keyPair().build();
+    publish("key-1", previous);
+    verifier.start();
+
+    KeyPair rotated = Jwts.SIG.ES256.keyPair().build();
+    publish("key-2", rotated);
+
+    assertThat(verifier.verify(sign("key-2", rotated, 60000L))).isNotNull();
+    assertThat(verifier.getKeyIds()).containsExactly("key-2");
+    assertThat(verifier.verify(sign("key-3", Jwts.SIG.ES256.keyPair().build(), 60000L))).isNull();
+  }
+
+  private void publish(String kid, KeyPair keyPair) {
+    var jwk = Jwks.builder().key(keyPair.getPublic()).id(kid).build();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new JacksonSerializer<Map<String, ?>>().serialize(Map.of("keys", List.of(jwk)), out);
+    jwks.set(out.toByteArray());
+  }
+
+  private static String sign(String kid, KeyPair keyPair, long expiresInMs) {
+    return Jwts.builder()
+        .header()
+        .keyId(kid)
+        .and()
+        .subject("jack12")
+        .expiration(new Date(System.currentTimeMillis() + expiresInMs))
+        .signWith(keyPair.getPrivate(), Jwts.SIG.ES256)
+        .compact();
+  }
+}
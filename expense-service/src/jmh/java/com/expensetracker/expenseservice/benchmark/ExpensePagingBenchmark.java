@@ -0,0 +1,148 @@
+package com.expensetracker.expenseservice.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.postgresql.PGConnection;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.expensetracker.common.id.UUIDv7Generator;
+import com.expensetracker.expenseservice.ExpenseServiceApplication;
+import com.expensetracker.expenseservice.entity.Expense;
+import com.expensetracker.expenseservice.repository.ExpenseRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Time to fetch the last page of a user's expenses, newest first, with the keyset query listings
+ * use and with OFFSET/LIMIT. Each size gets its own user, seeded with COPY in the benchmark category
+ * and kept for a later run of the same size. Rows seeded for the other sizes are removed first: a
+ * user owning nearly the whole table gets the primary key scan, and the final page would then also
+ * walk the neighbouring benchmark rows. Boots the service without its web layer, so it needs the
+ * database from user-service's docker-compose.yml, e.g. gradle jmh -PjmhIncludes=ExpensePaging
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExpensePagingBenchmark {
+
+	private static final int PAGE_SIZE = 20;
+	private static final int COPY_CHUNK = 100_000;
+	private static final String CATEGORY = "benchmark";
+
+	@Param({"100", "10000", "1000000"})
+	public int expenses;
+
+	private ConfigurableApplicationContext context;
+	private ExpenseRepository expenseRepository;
+	private EntityManager entityManager;
+	private TransactionTemplate readOnlyTransaction;
+	private UUID userId;
+	private UUID lastPageCursor;
+
+	@Setup
+	public void setUp() throws Exception {
+		context = new SpringApplicationBuilder(ExpenseServiceApplication.class)
+				.web(WebApplicationType.NONE)
+				.run("--logging.level.root=WARN");
+		expenseRepository = context.getBean(ExpenseRepository.class);
+		entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+				context.getBean(EntityManagerFactory.class));
+		readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+		readOnlyTransaction.setReadOnly(true);
+
+		userId = UUID.nameUUIDFromBytes(("expense-paging-" + expenses).getBytes(StandardCharsets.UTF_8));
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(context.getBean(DataSource.class));
+		int others = jdbcTemplate.update(
+				"delete from expense.expenses where category = ? and user_id <> ?", CATEGORY, userId);
+		Long seeded = jdbcTemplate.queryForObject(
+				"select count(*) from expense.expenses where user_id = ?", Long.class, userId);
+		boolean reseed = seeded == null || seeded != expenses;
+		if (reseed) {
+			jdbcTemplate.update("delete from expense.expenses where user_id = ?", userId);
+			seed(context.getBean(DataSource.class));
+		}
+		if (reseed || others > 0) {
+			jdbcTemplate.execute("analyze expense.expenses");
+		}
+
+		// The id just above the last page, as the cursor of the page before it would carry
+		lastPageCursor = jdbcTemplate.queryForObject(
+				"select id from expense.expenses where user_id = ? order by id desc offset ? limit 1",
+				UUID.class,
+				userId,
+				expenses - PAGE_SIZE - 1);
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public List<Expense> keyset() {
+		return expenseRepository.findByUserIdAndIdLessThanOrderByIdDesc(
+				userId, lastPageCursor, Limit.of(PAGE_SIZE + 1));
+	}
+
+	@Benchmark
+	public List<Expense> offset() {
+		return readOnlyTransaction.execute(status -> entityManager
+				.createQuery(
+						"select e from Expense e where e.userId = :userId order by e.id desc", Expense.class)
+				.setParameter("userId", userId)
+				.setFirstResult(expenses - PAGE_SIZE)
+				.setMaxResults(PAGE_SIZE + 1)
+				.getResultList());
+	}
+
+	private void seed(DataSource dataSource) throws Exception {
+		try (Connection connection = dataSource.getConnection()) {
+			PGConnection pgConnection = connection.unwrap(PGConnection.class);
+			for (int start = 0; start < expenses; start += COPY_CHUNK) {
+				int count = Math.min(COPY_CHUNK, expenses - start);
+				StringBuilder csv = new StringBuilder(count * 140);
+				for (UUID id : UUIDv7Generator.nextIds(count)) {
+					csv.append(id).append(',').append(userId).append(",12.50,EUR,").append(CATEGORY)
+							.append(",2025-05-11,2025-05-11 12:00:00,2025-05-11 12:00:00\n");
+				}
+				pgConnection.getCopyAPI().copyIn(
+						"copy expense.expenses (id, user_id, amount, currency, category, spent_on,"
+								+ " created_at, updated_at) from stdin (format csv)",
+						new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+			}
+			if (!connection.getAutoCommit()) {
+				connection.commit();
+			}
+		}
+	}
+}
@@ -0,0 +1,25 @@
+package com.expensetracker.expenseservice.config;
+
+import java.net.URI;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.expensetracker.common.security.JwksTokenVerifier;
+
+@Configuration
+public class JwksConfig {
+
+	@Bean(destroyMethod = "close")
+	public JwksTokenVerifier jwksTokenVerifier(
+			@Value("${app.jwt.jwks-uri}") URI jwksUri,
+			@Value("${app.jwt.jwks-refresh-interval}") Duration refreshInterval) {
+		JwksTokenVerifier verifier = new JwksTokenVerifier(
+				jwksUri, refreshInterval, JwksTokenVerifier.DEFAULT_MIN_REFRESH_INTERVAL);
+		// Starting does not wait for user-service, which may come up after this service
+		verifier.startInBackground();
+		return verifier;
+	}
+}
@@ -0,0 +1,65 @@
+package com.expensetracker.expenseservice.controller;
+
+import java.net.URI;
+import java.util.UUID;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.expensetracker.expenseservice.dto.request.ExpenseRequest;
+import com.expensetracker.expenseservice.dto.response.ExpensePageResponse;
+import com.expensetracker.expenseservice.dto.response.ExpenseResponse;
+import com.expensetracker.expenseservice.service.ExpenseService;
+import com.expensetracker.expenseservice.util.JwtAuthenticationFilter;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+// Every operation acts on the expenses of the user the access token belongs to
+@RestController
+@RequestMapping("/api/v1/expenses")
+@RequiredArgsConstructor
+public class ExpenseController {
+
+	private final ExpenseService expenseService;
+
+	@PostMapping
+	public ResponseEntity<ExpenseResponse> createExpense(
+			@RequestAttribute(JwtAuthenticationFilter.USER_ID_ATTRIBUTE) UUID userId,
+			@Valid @RequestBody ExpenseRequest request) {
+		ExpenseResponse expense = expenseService.createExpense(userId, request);
+		return ResponseEntity.created(URI.create("/api/v1/expenses/" + expense.getId())).body(expense);
+	}
+
+	// Newest first. Pass the nextCursor of a page as cursor to get the following one.
+	@GetMapping
+	public ResponseEntity<ExpensePageResponse> listExpenses(
+			@RequestAttribute(JwtAuthenticationFilter.USER_ID_ATTRIBUTE) UUID userId,
+			@RequestParam(required = false) String cursor,
+			@RequestParam(required = false) Integer limit) {
+		return ResponseEntity.ok(expenseService.listExpenses(userId, cursor, limit));
+	}
+
+	@GetMapping("/{id}")
+	public ResponseEntity<ExpenseResponse> getExpense(
+			@RequestAttribute(JwtAuthenticationFilter.USER_ID_ATTRIBUTE) UUID userId,
+			@PathVariable UUID id) {
+		return ResponseEntity.ok(expenseService.getExpense(userId, id));
+	}
+
+	@PutMapping("/{id}")
+	public ResponseEntity<ExpenseResponse> updateExpense(
+			@RequestAttribute(JwtAuthenticationFilter.USER_ID_ATTRIBUTE) UUID userId,
+			@PathVariable UUID id,
+			@Valid @RequestBody ExpenseRequest request) {
+		return ResponseEntity.ok(expenseService.updateExpense(userId, id, request));
+	}
+
+	@DeleteMapping("/{id}")
+	public ResponseEntity<Void> deleteExpense(
+			@RequestAttribute(JwtAuthenticationFilter.USER_ID_ATTRIBUTE) UUID userId,
+			@PathVariable UUID id) {
+		expenseService.deleteExpense(userId, id);
+		return ResponseEntity.noContent().build();
+	}
+}
@@ -0,0 +1,41 @@
+package com.expensetracker.expenseservice.dto.request;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseRequest {
+
+	@NotNull(message = "Amount is required")
+	@DecimalMin(value = "0.01", message = "Amount must be positive")
+	@Digits(integer = 10, fraction = 2, message = "Amount must have at most 10 digits and 2 decimals")
+	private BigDecimal amount;
+
+	@NotBlank(message = "Currency is required")
+	@Pattern(regexp = "[A-Z]{3}", message = "Currency must be an ISO 4217 code such as EUR")
+	private String currency;
+
+	@NotBlank(message = "Category is required")
+	@Size(max = 50, message = "Category must be at most 50 characters")
+	private String category;
+
+	@Size(max = 255, message = "Description must be at most 255 characters")
+	private String description;
+
+	@NotNull(message = "Date is required")
+	private LocalDate spentOn;
+}
@@ -0,0 +1,32 @@
+package com.expensetracker.expenseservice.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Same format as user-service's error responses
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErrorResponse {
+
+	@JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS")
+	private LocalDateTime timestamp;
+
+	private int status;
+
+	private String error;
+
+	private String message;
+
+	private String path;
+
+	private List<String> details;
+}
@@ -0,0 +1,20 @@
+package com.expensetracker.expenseservice.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpensePageResponse {
+	// Newest first
+	private List<ExpenseResponse> items;
+
+	// Pass as cursor to get the next page; null on the last page
+	private String nextCursor;
+}
@@ -0,0 +1,26 @@
+package com.expensetracker.expenseservice.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseResponse {
+	private UUID id;
+	private BigDecimal amount;
+	private String currency;
+	private String category;
+	private String description;
+	private LocalDate spentOn;
+	private LocalDateTime createdAt;
+	private LocalDateTime updatedAt;
+}
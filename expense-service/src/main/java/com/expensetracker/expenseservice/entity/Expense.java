@@ -0,0 +1,64 @@
+package com.expensetracker.expenseservice.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.hibernate.annotations.GenericGenerator;
+
+import com.expensetracker.common.id.UUIDv7IdentifierGenerator;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+@Entity
+@Table(name = "expenses")
+@Getter
+@Setter
+public class Expense {
+	// The schema is defined by the Flyway migrations, including the (user_id, id) index listings use
+
+	// UUIDv7: ids sort in creation order, which keyset pagination relies on
+	@Id
+	@GeneratedValue(generator = "UUID-V7")
+	@GenericGenerator(name = "UUID-V7", type = UUIDv7IdentifierGenerator.class)
+	@Column(name = "id", updatable = false, nullable = false, columnDefinition = "UUID")
+	private UUID id;
+
+	@Column(name = "user_id", updatable = false, nullable = false)
+	private UUID userId;
+
+	@Column(nullable = false, precision = 12, scale = 2)
+	private BigDecimal amount;
+
+	@Column(nullable = false, length = 3)
+	private String currency;
+
+	@Column(nullable = false, length = 50)
+	private String category;
+
+	@Column
+	private String description;
+
+	@Column(name = "spent_on", nullable = false)
+	private LocalDate spentOn;
+
+	@Column(name = "created_at", nullable = false)
+	private LocalDateTime createdAt;
+
+	@Column(name = "updated_at", nullable = false)
+	private LocalDateTime updatedAt;
+
+	@PrePersist
+	protected void onCreate() {
+		this.createdAt = LocalDateTime.now();
+		this.updatedAt = this.createdAt;
+	}
+
+	@PreUpdate
+	protected void onUpdate() {
+		this.updatedAt = LocalDateTime.now();
+	}
+}
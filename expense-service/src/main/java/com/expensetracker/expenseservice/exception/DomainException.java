@@ -0,0 +1,12 @@
+package com.expensetracker.expenseservice.exception;
+
+/**
+ * Base of the exceptions GlobalExceptionHandler turns into error responses. They signal expected
+ * outcomes such as an unknown id or a malformed cursor, so they skip the stack trace.
+ */
+public abstract class DomainException extends RuntimeException {
+
+	protected DomainException(String message) {
+		super(message, null, false, false);
+	}
+}
@@ -0,0 +1,81 @@
+package com.expensetracker.expenseservice.exception;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
+
+import com.expensetracker.expenseservice.dto.response.ErrorResponse;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+@ControllerAdvice
+public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
+
+	@ExceptionHandler(ResourceNotFoundException.class)
+	public ResponseEntity<ErrorResponse> handleResourceNotFound(
+			ResourceNotFoundException ex, HttpServletRequest request) {
+		return new ResponseEntity<>(
+				errorResponse(HttpStatus.NOT_FOUND, ex.getMessage(), request.getRequestURI(), null),
+				HttpStatus.NOT_FOUND);
+	}
+
+	@ExceptionHandler(ValidationException.class)
+	public ResponseEntity<ErrorResponse> handleValidation(
+			ValidationException ex, HttpServletRequest request) {
+		return new ResponseEntity<>(
+				errorResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), request.getRequestURI(), null),
+				HttpStatus.BAD_REQUEST);
+	}
+
+	@Override
+	protected ResponseEntity<Object> handleMethodArgumentNotValid(
+			MethodArgumentNotValidException ex,
+			HttpHeaders headers,
+			HttpStatusCode status,
+			WebRequest request) {
+		List<String> details = ex.getBindingResult().getFieldErrors().stream()
+				.map(error -> error.getField() + ": " + error.getDefaultMessage())
+				.toList();
+		return new ResponseEntity<>(
+				errorResponse(HttpStatus.BAD_REQUEST, "Input validation failed", path(request), details),
+				HttpStatus.BAD_REQUEST);
+	}
+
+	@Override
+	protected ResponseEntity<Object> handleHttpMessageNotReadable(
+			HttpMessageNotReadableException ex,
+			HttpHeaders headers,
+			HttpStatusCode status,
+			WebRequest request) {
+		return new ResponseEntity<>(
+				errorResponse(HttpStatus.BAD_REQUEST, "Malformed request body", path(request), null),
+				HttpStatus.BAD_REQUEST);
+	}
+
+	private static ErrorResponse errorResponse(
+			HttpStatus status, String message, String path, List<String> details) {
+		return ErrorResponse.builder()
+				.timestamp(LocalDateTime.now())
+				.status(status.value())
+				.error(status.getReasonPhrase())
+				.message(message)
+				.path(path)
+				.details(details)
+				.build();
+	}
+
+	private static String path(WebRequest request) {
+		return ((ServletWebRequest) request).getRequest().getRequestURI();
+	}
+}
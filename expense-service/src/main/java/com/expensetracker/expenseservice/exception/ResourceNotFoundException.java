@@ -0,0 +1,7 @@
+package com.expensetracker.expenseservice.exception;
+
+public class ResourceNotFoundException extends DomainException {
+	public ResourceNotFoundException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,7 @@
+package com.expensetracker.expenseservice.exception;
+
+public class ValidationException extends DomainException {
+	public ValidationException(String message) {
+		super(message);
+	}
+}
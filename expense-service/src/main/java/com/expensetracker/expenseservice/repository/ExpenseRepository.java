@@ -0,0 +1,23 @@
+package com.expensetracker.expenseservice.repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.expensetracker.expenseservice.entity.Expense;
+
+@Repository
+public interface ExpenseRepository extends JpaRepository<Expense, UUID> {
+	// Pages seek past the last id seen instead of skipping rows with OFFSET, so each one is a
+	// range scan of the (user_id, id) index that reads only the rows it returns
+
+	List<Expense> findByUserIdOrderByIdDesc(UUID userId, Limit limit);
+
+	List<Expense> findByUserIdAndIdLessThanOrderByIdDesc(UUID userId, UUID id, Limit limit);
+
+	Optional<Expense> findByIdAndUserId(UUID id, UUID userId);
+}
@@ -0,0 +1,19 @@
+package com.expensetracker.expenseservice.service;
+
+import java.util.UUID;
+
+import com.expensetracker.expenseservice.dto.request.ExpenseRequest;
+import com.expensetracker.expenseservice.dto.response.ExpensePageResponse;
+import com.expensetracker.expenseservice.dto.response.ExpenseResponse;
+
+public interface ExpenseService {
+	ExpenseResponse createExpense(UUID userId, ExpenseRequest request);
+
+	ExpenseResponse getExpense(UUID userId, UUID id);
+
+	ExpensePageResponse listExpenses(UUID userId, String cursor, Integer limit);
+
+	ExpenseResponse updateExpense(UUID userId, UUID id, ExpenseRequest request);
+
+	void deleteExpense(UUID userId, UUID id);
+}
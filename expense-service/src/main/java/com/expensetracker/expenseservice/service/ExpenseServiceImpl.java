@@ -0,0 +1,114 @@
+package com.expensetracker.expenseservice.service;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.expensetracker.expenseservice.dto.request.ExpenseRequest;
+import com.expensetracker.expenseservice.dto.response.ExpensePageResponse;
+import com.expensetracker.expenseservice.dto.response.ExpenseResponse;
+import com.expensetracker.expenseservice.entity.Expense;
+import com.expensetracker.expenseservice.exception.ResourceNotFoundException;
+import com.expensetracker.expenseservice.exception.ValidationException;
+import com.expensetracker.expenseservice.repository.ExpenseRepository;
+import com.expensetracker.expenseservice.util.ExpenseCursor;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class ExpenseServiceImpl implements ExpenseService {
+
+	private final ExpenseRepository expenseRepository;
+
+	@Value("${app.expenses.page.default-size}")
+	private int defaultPageSize;
+
+	@Value("${app.expenses.page.max-size}")
+	private int maxPageSize;
+
+	@Override
+	@Transactional
+	public ExpenseResponse createExpense(UUID userId, ExpenseRequest request) {
+		Expense expense = new Expense();
+		expense.setUserId(userId);
+		apply(request, expense);
+		return toResponse(expenseRepository.save(expense));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public ExpenseResponse getExpense(UUID userId, UUID id) {
+		return toResponse(findOwned(userId, id));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public ExpensePageResponse listExpenses(UUID userId, String cursor, Integer limit) {
+		int pageSize = limit == null ? defaultPageSize : limit;
+		if (pageSize < 1 || pageSize > maxPageSize) {
+			throw new ValidationException("Limit must be between 1 and " + maxPageSize);
+		}
+
+		// One row more than the page tells whether another page follows
+		Limit fetch = Limit.of(pageSize + 1);
+		List<Expense> expenses = cursor == null
+				? expenseRepository.findByUserIdOrderByIdDesc(userId, fetch)
+				: expenseRepository.findByUserIdAndIdLessThanOrderByIdDesc(
+						userId, ExpenseCursor.decode(cursor), fetch);
+
+		boolean hasNext = expenses.size() > pageSize;
+		List<Expense> page = hasNext ? expenses.subList(0, pageSize) : expenses;
+		return ExpensePageResponse.builder()
+				.items(page.stream().map(ExpenseServiceImpl::toResponse).toList())
+				.nextCursor(hasNext ? ExpenseCursor.encode(page.get(pageSize - 1).getId()) : null)
+				.build();
+	}
+
+	@Override
+	@Transactional
+	public ExpenseResponse updateExpense(UUID userId, UUID id, ExpenseRequest request) {
+		Expense expense = findOwned(userId, id);
+		apply(request, expense);
+		// Flush so the response carries the updated_at set on update
+		return toResponse(expenseRepository.saveAndFlush(expense));
+	}
+
+	@Override
+	@Transactional
+	public void deleteExpense(UUID userId, UUID id) {
+		expenseRepository.delete(findOwned(userId, id));
+	}
+
+	// Other users' expenses are reported as missing rather than forbidden, so ids cannot be probed
+	private Expense findOwned(UUID userId, UUID id) {
+		return expenseRepository
+				.findByIdAndUserId(id, userId)
+				.orElseThrow(() -> new ResourceNotFoundException("Expense not found with id: " + id));
+	}
+
+	private static void apply(ExpenseRequest request, Expense expense) {
+		expense.setAmount(request.getAmount());
+		expense.setCurrency(request.getCurrency());
+		expense.setCategory(request.getCategory());
+		expense.setDescription(request.getDescription());
+		expense.setSpentOn(request.getSpentOn());
+	}
+
+	private static ExpenseResponse toResponse(Expense expense) {
+		return ExpenseResponse.builder()
+				.id(expense.getId())
+				.amount(expense.getAmount())
+				.currency(expense.getCurrency())
+				.category(expense.getCategory())
+				.description(expense.getDescription())
+				.spentOn(expense.getSpentOn())
+				.createdAt(expense.getCreatedAt())
+				.updatedAt(expense.getUpdatedAt())
+				.build();
+	}
+}
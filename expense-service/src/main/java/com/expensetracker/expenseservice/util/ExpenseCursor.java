@@ -0,0 +1,42 @@
+package com.expensetracker.expenseservice.util;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.UUID;
+
+import com.expensetracker.expenseservice.exception.ValidationException;
+
+/**
+ * Opaque page cursors: the id of the last expense on a page, base64url encoded. The next page
+ * continues below that id, which is stable however many expenses are added or deleted meanwhile.
+ */
+public final class ExpenseCursor {
+
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+	private ExpenseCursor() {
+	}
+
+	public static String encode(UUID lastId) {
+		return ENCODER.encodeToString(
+				ByteBuffer.allocate(16)
+						.putLong(lastId.getMostSignificantBits())
+						.putLong(lastId.getLeastSignificantBits())
+						.array());
+	}
+
+	public static UUID decode(String cursor) {
+		byte[] bytes;
+		try {
+			bytes = DECODER.decode(cursor);
+		} catch (IllegalArgumentException ex) {
+			bytes = null;
+		}
+		if (bytes == null || bytes.length != 16) {
+			throw new ValidationException("Invalid cursor");
+		}
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		return new UUID(buffer.getLong(), buffer.getLong());
+	}
+}
@@ -0,0 +1,85 @@
+package com.expensetracker.expenseservice.util;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.expensetracker.common.security.JwksTokenVerifier;
+import com.expensetracker.expenseservice.dto.response.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Authenticates /api requests with the user-service access token in the Authorization header and
+ * exposes the user's id as a request attribute. Verification is local, against the cached keys.
+ *
+ * <p>Only the signature, expiry and id claim are checked. Revocation stays inside user-service: its
+ * jti denylist and {@code ver} token version are not visible here. A token revoked by /logout or
+ * /me/revoke-tokens is therefore still accepted until it expires, at most the access token
+ * lifetime ({@code app.jwt.expiration-ms} in user-service, 15 minutes).
+ */
+@Component
+@RequiredArgsConstructor
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+	public static final String USER_ID_ATTRIBUTE = "expenseservice.userId";
+
+	// Claim user-service puts the user's id in
+	private static final String ID_CLAIM = "id";
+	private static final String BEARER_PREFIX = "Bearer ";
+
+	private final JwksTokenVerifier jwksTokenVerifier;
+	private final ObjectMapper objectMapper;
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !request.getRequestURI().startsWith("/api/");
+	}
+
+	@Override
+	protected void doFilterInternal(
+			HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		UUID userId = authenticate(request.getHeader(HttpHeaders.AUTHORIZATION));
+		if (userId == null) {
+			ErrorResponse errorResponse = ErrorResponse.builder()
+					.timestamp(LocalDateTime.now())
+					.status(HttpStatus.UNAUTHORIZED.value())
+					.error(HttpStatus.UNAUTHORIZED.getReasonPhrase())
+					.message("Authentication is required to access this resource")
+					.path(request.getRequestURI())
+					.build();
+			response.setStatus(HttpStatus.UNAUTHORIZED.value());
+			response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+			objectMapper.writeValue(response.getOutputStream(), errorResponse);
+			return;
+		}
+		request.setAttribute(USER_ID_ATTRIBUTE, userId);
+		filterChain.doFilter(request, response);
+	}
+
+	private UUID authenticate(String authorization) {
+		if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+			return null;
+		}
+		Claims claims = jwksTokenVerifier.verify(authorization.substring(BEARER_PREFIX.length()));
+		String id = claims == null ? null : claims.get(ID_CLAIM, String.class);
+		try {
+			return id == null ? null : UUID.fromString(id);
+		} catch (IllegalArgumentException ex) {
+			return null;
+		}
+	}
+}
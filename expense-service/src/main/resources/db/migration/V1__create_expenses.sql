@@ -0,0 +1,16 @@
+CREATE TABLE expenses (
+    id          UUID           NOT NULL,
+    user_id     UUID           NOT NULL,
+    amount      NUMERIC(12, 2) NOT NULL,
+    currency    VARCHAR(3)     NOT NULL,
+    category    VARCHAR(50)    NOT NULL,
+    description VARCHAR(255),
+    spent_on    DATE           NOT NULL,
+    created_at  TIMESTAMP(6)   NOT NULL,
+    updated_at  TIMESTAMP(6)   NOT NULL,
+    CONSTRAINT expenses_pkey PRIMARY KEY (id)
+);
+
+-- Listings seek to (user_id, id < cursor) and read newest first. Ids are UUIDv7s, so id order is
+-- creation order and one index serves every page at the same cost, however deep.
+CREATE INDEX idx_expenses_user_id_id ON expenses (user_id, id DESC);
@@ -0,0 +1,59 @@
+package com.expensetracker.expenseservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.expensetracker.expenseservice.dto.request.ExpenseRequest;
+import com.expensetracker.expenseservice.dto.response.ExpensePageResponse;
+import com.expensetracker.expenseservice.dto.response.ExpenseResponse;
+
+/** Walks a user's expenses page by page against the local database. */
+@SpringBootTest
+@Transactional
+class ExpensePagingTest {
+
+	@Autowired
+	private ExpenseService expenseService;
+
+	@Test
+	void pagesCoverEveryExpenseOnceNewestFirst() {
+		UUID userId = UUID.randomUUID();
+		List<UUID> created = new ArrayList<>();
+		for (int i = 0; i < 25; i++) {
+			created.add(0, expenseService.createExpense(userId, request(i)).getId());
+		}
+		expenseService.createExpense(UUID.randomUUID(), request(0));
+
+		List<UUID> listed = new ArrayList<>();
+		List<Integer> pageSizes = new ArrayList<>();
+		String cursor = null;
+		do {
+			ExpensePageResponse page = expenseService.listExpenses(userId, cursor, 10);
+			page.getItems().stream().map(ExpenseResponse::getId).forEach(listed::add);
+			pageSizes.add(page.getItems().size());
+			cursor = page.getNextCursor();
+		} while (cursor != null);
+
+		assertThat(pageSizes).containsExactly(10, 10, 5);
+		assertThat(listed).isEqualTo(created);
+	}
+
+	private static ExpenseRequest request(int i) {
+		return ExpenseRequest.builder()
+				.amount(new BigDecimal("12.50").add(BigDecimal.valueOf(i)))
+				.currency("EUR")
+				.category("groceries")
+				.spentOn(LocalDate.of(2025, 5, 11))
+				.build();
+	}
+}
@@ -0,0 +1,33 @@
+package com.expensetracker.expenseservice.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.expensetracker.common.id.UUIDv7Generator;
+import com.expensetracker.expenseservice.exception.ValidationException;
+
+class ExpenseCursorTest {
+
+	@Test
+	void decodesWhatItEncodes() {
+		UUID id = UUIDv7Generator.nextId();
+
+		String cursor = ExpenseCursor.encode(id);
+
+		assertThat(cursor).hasSize(22).doesNotContain(id.toString());
+		assertThat(ExpenseCursor.decode(cursor)).isEqualTo(id);
+	}
+
+	@Test
+	void rejectsMalformedCursors() {
+		String tooLong = ExpenseCursor.encode(UUID.randomUUID()) + "AA";
+		for (String cursor : new String[] {"", "not a cursor", "AAAA", tooLong}) {
+			assertThatThrownBy(() -> ExpenseCursor.decode(cursor))
+					.isInstanceOf(ValidationException.class);
+		}
+	}
+}
@@ -0,0 +1,94 @@
+package com.expensetracker.userservice.benchmark;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.expensetracker.userservice.config.JacksonConfig;
+import com.expensetracker.userservice.dto.response.UserBatchResponse;
+import com.expensetracker.userservice.dto.response.UserLookupResult;
+import com.expensetracker.userservice.dto.response.UserResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * A batch lookup response of UserResponses encoded and decoded as JSON, Smile and CBOR with the
+ * mappers from JacksonConfig. The encoded size of each payload is printed during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryFormatBenchmark {
+
+  @Param({"json", "smile", "cbor"})
+  public String format;
+
+  @Param({"10", "100"})
+  public int users;
+
+  private ObjectWriter writer;
+  private ObjectReader reader;
+  private UserBatchResponse response;
+  private byte[] encoded;
+
+  @Setup
+  public void setUp() throws IOException {
+    JacksonConfig jacksonConfig = new JacksonConfig();
+    ObjectMapper objectMapper =
+        switch (format) {
+          case "smile" -> jacksonConfig.smileHttpMessageConverter().getObjectMapper();
+          case "cbor" -> jacksonConfig.cborHttpMessageConverter().getObjectMapper();
+          default -> jacksonConfig.objectMapper();
+        };
+    writer = objectMapper.writerFor(UserBatchResponse.class);
+    reader = objectMapper.readerFor(UserBatchResponse.class);
+
+    List<UserLookupResult> results = new ArrayList<>(users);
+    for (int i = 0; i < users; i++) {
+      UUID id = UUID.randomUUID();
+      String username = "user" + (100_000 + i);
+      LocalDateTime createdAt = LocalDateTime.now().minusDays(i);
+      UserResponse user =
+          UserResponse.builder()
+              .id(id)
+              .username(username)
+              .email(username + "@example.com")
+              .createdAt(createdAt)
+              .updatedAt(createdAt.plusHours(i))
+              .build();
+      results.add(UserLookupResult.builder().id(id).found(true).user(user).build());
+    }
+    response = UserBatchResponse.builder().results(results).build();
+    encoded = writer.writeValueAsBytes(response);
+    System.out.printf("%n%s, %d users: %d bytes%n", format, users, encoded.length);
+  }
+
+  @Benchmark
+  public byte[] encode() throws IOException {
+    return writer.writeValueAsBytes(response);
+  }
+
+  @Benchmark
+  public UserBatchResponse decode() throws IOException {
+    return reader.readValue(encoded);
+  }
+}
@@ -0,0 +1,65 @@
+package com.expensetracker.userservice.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import com.expensetracker.userservice.util.JwtAuthenticationFilter;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+
+/** Public endpoint matching that JwtAuthenticationFilter runs before every request */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterPathMatchingBenchmark {
+
+  // First public pattern, a wildcard public pattern, and a protected path that checks them all
+  @Param({
+    "/api/v1/users/register",
+    "/swagger-ui/index.html",
+    "/api/v1/users/0196bfde-4e25-7061-b4a4-93e5ce8dbcc7"
+  })
+  private String path;
+
+  private PathMatchingFilter filter;
+  private HttpServletRequest request;
+
+  @Setup
+  public void setUp() {
+    filter = new PathMatchingFilter();
+    request = new MockHttpServletRequest("GET", path);
+  }
+
+  @Benchmark
+  public boolean shouldNotFilter() throws ServletException {
+    return filter.isPublic(request);
+  }
+
+  /** Only the path matching is exercised, so the filter's collaborators are not needed */
+  private static class PathMatchingFilter extends JwtAuthenticationFilter {
+
+    PathMatchingFilter() {
+      super(null, null, null, null, null);
+    }
+
+    boolean isPublic(HttpServletRequest request) throws ServletException {
+      return shouldNotFilter(request);
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package com.expensetracker.userservice.benchmark;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.expensetracker.userservice.entity.User;
+import com.expensetracker.userservice.util.JwtKeyRing;
+import com.expensetracker.userservice.util.JwtTokenProvider;
+import com.expensetracker.userservice.util.UserRoles;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Token issuing at login and per-request verification, with and without the verified-token cache
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+  @Param({"true", "false"})
+  private boolean cacheEnabled;
+
+  private JwtTokenProvider jwtTokenProvider;
+  private User user;
+  private String token;
+
+  @Setup
+  public void setUp() {
+    JwtKeyRing keyRing = new JwtKeyRing(0L);
+    keyRing.replace(List.of(JwtKeyRing.generateKey()));
+    jwtTokenProvider =
+        new JwtTokenProvider(keyRing, 86400000L, cacheEnabled, 10000L, new UserRoles(Set.of()));
+
+    user = new User();
+    user.setId(UUID.randomUUID());
+    user.setUsername("jack12");
+    token = jwtTokenProvider.generateToken(user);
+  }
+
+  @Benchmark
+  public String generateToken() {
+    return jwtTokenProvider.generateToken(user);
+  }
+
+  @Benchmark
+  public boolean validateToken() {
+    return jwtTokenProvider.validateToken(token);
+  }
+
+  @Benchmark
+  public String getUsernameFromToken() {
+    return jwtTokenProvider.getUsernameFromToken(token);
+  }
+
+  @Benchmark
+  public Claims verifyToken() {
+    return jwtTokenProvider.verifyToken(token);
+  }
+
+  /** The previous filter behaviour: validate, then parse again for the username */
+  @Benchmark
+  public String validateThenParseUsername() {
+    if (!jwtTokenProvider.validateToken(token)) {
+      return null;
+    }
+    return jwtTokenProvider.getUsernameFromToken(token);
+  }
+}
@@ -0,0 +1,126 @@
+package com.expensetracker.userservice.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.expensetracker.userservice.config.JacksonConfig;
+import com.expensetracker.userservice.dto.request.LoginRequest;
+import com.expensetracker.userservice.dto.response.AuthResponse;
+import com.expensetracker.userservice.dto.response.ErrorResponse;
+import com.expensetracker.userservice.dto.response.UserResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * DTO serialization through cached ObjectWriters and login request parsing through a cached
+ * ObjectReader, as DtoJackson2HttpMessageConverter does, with the bare ObjectMapper JacksonConfig
+ * used to build and with the current one (Blackbird, the ISO timestamp serializer, pooled buffers).
+ * Compare gc.alloc.rate.norm from the gc profiler as well as the time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+  private static final byte[] LOGIN_REQUEST =
+      "{\"username\":\"jack12\",\"password\":\"SecureP@ssw0rd\"}".getBytes(StandardCharsets.UTF_8);
+
+  @Param({"plain", "optimized"})
+  public String mapper;
+
+  private ObjectWriter userResponseWriter;
+  private ObjectWriter authResponseWriter;
+  private ObjectWriter errorResponseWriter;
+  private ObjectReader loginRequestReader;
+  private UserResponse userResponse;
+  private AuthResponse authResponse;
+  private ErrorResponse errorResponse;
+
+  @Setup
+  public void setUp() {
+    ObjectMapper objectMapper =
+        mapper.equals("plain")
+            ? new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            : new JacksonConfig().objectMapper();
+    userResponseWriter = objectMapper.writerFor(UserResponse.class);
+    authResponseWriter = objectMapper.writerFor(AuthResponse.class);
+    errorResponseWriter = objectMapper.writerFor(ErrorResponse.class);
+    loginRequestReader = objectMapper.readerFor(LoginRequest.class);
+
+    userResponse =
+        UserResponse.builder()
+            .id(UUID.randomUUID())
+            .username("jack12")
+            .email("jack12@email.com")
+            .createdAt(LocalDateTime.now())
+            .updatedAt(LocalDateTime.now())
+            .build();
+
+    authResponse =
+        AuthResponse.builder()
+            .token(
+                "eyJhbGciOiJIUzI1NiJ9.eyJzdWIiOiJqYWNrMTIiLCJpZCI6IjAxOTZiZmRlLTRlMjUtNzA2MS1iNGE0"
+                    + "LTkzZTVjZThkYmNjNyIsInVzZXJuYW1lIjoiamFjazEyIiwicm9sZXMiOlsiUk9MRV9VU0VSIl19"
+                    + ".3q2P7yZc6cN2nqS5mXv2m3gS9bq1aJdC1lT0iE8bFQw")
+            .user(userResponse)
+            .build();
+
+    errorResponse =
+        ErrorResponse.builder()
+            .timestamp(LocalDateTime.now())
+            .status(400)
+            .error("Bad Request")
+            .message("Input validation failed")
+            .path("/api/v1/users/register")
+            .details(
+                List.of(
+                    "email: Email should be valid",
+                    "password: Password must be at least 8 characters long"))
+            .build();
+  }
+
+  @Benchmark
+  public byte[] userResponse() throws JsonProcessingException {
+    return userResponseWriter.writeValueAsBytes(userResponse);
+  }
+
+  @Benchmark
+  public byte[] authResponse() throws JsonProcessingException {
+    return authResponseWriter.writeValueAsBytes(authResponse);
+  }
+
+  @Benchmark
+  public byte[] errorResponse() throws JsonProcessingException {
+    return errorResponseWriter.writeValueAsBytes(errorResponse);
+  }
+
+  @Benchmark
+  public LoginRequest loginRequest() throws IOException {
+    return loginRequestReader.readValue(LOGIN_REQUEST);
+  }
+}
@@ -0,0 +1,77 @@
+package com.expensetracker.userservice.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+
+import com.expensetracker.userservice.config.JacksonConfig;
+import com.expensetracker.userservice.dto.response.ErrorResponse;
+import com.expensetracker.userservice.exception.InvalidTokenException;
+import com.expensetracker.userservice.util.ErrorResponseTemplate;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The 401 path: the body JwtAuthenticationEntryPoint used to build and serialize per request
+ * against the pre-serialized template it renders now, and an exception with and without a stack
+ * trace. Compare gc.alloc.rate.norm from the gc profiler as well as the time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnauthorizedResponseBenchmark {
+
+  private static final String MESSAGE = "Authentication required to access this resource";
+  private static final String PATH = "/api/v1/users/0196bfde-4e25-7061-b4a4-93e5ce8dbcc7";
+
+  private ObjectMapper objectMapper;
+  private ErrorResponseTemplate template;
+
+  @Setup
+  public void setUp() {
+    objectMapper = new JacksonConfig().objectMapper();
+    template = ErrorResponseTemplate.of(objectMapper, HttpStatus.UNAUTHORIZED, MESSAGE);
+  }
+
+  @Benchmark
+  public byte[] serializedPerRequest() throws JsonProcessingException {
+    ErrorResponse errorResponse =
+        ErrorResponse.builder()
+            .timestamp(LocalDateTime.now())
+            .status(HttpStatus.UNAUTHORIZED.value())
+            .error("Unauthorized")
+            .message(MESSAGE)
+            .path(PATH)
+            .build();
+    return objectMapper.writeValueAsBytes(errorResponse);
+  }
+
+  @Benchmark
+  public byte[] template() {
+    return template.render(null, PATH);
+  }
+
+  @Benchmark
+  public RuntimeException exceptionWithStackTrace() {
+    return new RuntimeException(MESSAGE);
+  }
+
+  @Benchmark
+  public RuntimeException stacklessException() {
+    return new InvalidTokenException(MESSAGE);
+  }
+}
@@ -0,0 +1,89 @@
+package com.expensetracker.userservice.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.expensetracker.userservice.dto.UserDTO;
+import com.expensetracker.userservice.dto.request.CreateUserRequest;
+import com.expensetracker.userservice.dto.request.LoginRequest;
+import com.expensetracker.userservice.dto.response.UserResponse;
+import com.expensetracker.userservice.entity.User;
+import com.expensetracker.userservice.util.UserMapper;
+
+/** MapStruct conversions done on every register, login and user lookup */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserMapperBenchmark {
+
+  private UserMapper userMapper;
+  private CreateUserRequest createUserRequest;
+  private LoginRequest loginRequest;
+  private User user;
+  private UserDTO userDTO;
+
+  @Setup
+  public void setUp() {
+    userMapper = Mappers.getMapper(UserMapper.class);
+
+    createUserRequest = new CreateUserRequest();
+    createUserRequest.setUsername("jack12");
+    createUserRequest.setEmail("jack12@email.com");
+    createUserRequest.setPassword("password123");
+
+    loginRequest = new LoginRequest();
+    loginRequest.setUsername("jack12");
+    loginRequest.setPassword("password123");
+
+    user = new User();
+    user.setId(UUID.randomUUID());
+    user.setUsername("jack12");
+    user.setEmail("jack12@email.com");
+    user.setPassword("{bcrypt}$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z1tSSbbJx1zG2gS5Ze8.wE1e");
+    user.setCreatedAt(LocalDateTime.now());
+    user.setUpdatedAt(LocalDateTime.now());
+
+    userDTO = userMapper.toDTO(user);
+  }
+
+  @Benchmark
+  public UserDTO createUserRequestToDTO() {
+    return userMapper.toDTO(createUserRequest);
+  }
+
+  @Benchmark
+  public UserDTO loginRequestToDTO() {
+    return userMapper.toDTO(loginRequest);
+  }
+
+  @Benchmark
+  public UserDTO entityToDTO() {
+    return userMapper.toDTO(user);
+  }
+
+  @Benchmark
+  public User dtoToEntity() {
+    return userMapper.toEntity(userDTO);
+  }
+
+  @Benchmark
+  public UserResponse dtoToResponse() {
+    return userMapper.toResponse(userDTO);
+  }
+}
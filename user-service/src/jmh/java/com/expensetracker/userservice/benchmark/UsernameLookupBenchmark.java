@@ -0,0 +1,105 @@
+package com.expensetracker.userservice.benchmark;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.expensetracker.userservice.UserServiceApplication;
+import com.expensetracker.userservice.entity.User;
+import com.expensetracker.userservice.repository.UserRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Username lookups per second against the database: the JPQL query the derived findByUsername used
+ * to run, and the natural-id lookup that replaced it, with and without the second-level cache.
+ * Boots the service without its web layer, so it needs the database from docker-compose.yml and
+ * only runs when selected, e.g. gradle jmh -PjmhIncludes=UsernameLookup
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Threads(8)
+@Fork(1)
+public class UsernameLookupBenchmark {
+
+  @Param({"false", "true"})
+  public boolean secondLevelCache;
+
+  private ConfigurableApplicationContext context;
+  private UserRepository userRepository;
+  private EntityManager entityManager;
+  private TransactionTemplate readOnlyTransaction;
+  private User user;
+
+  @Setup
+  public void setUp() {
+    context =
+        new SpringApplicationBuilder(UserServiceApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache="
+                    + secondLevelCache,
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.security=WARN");
+    userRepository = context.getBean(UserRepository.class);
+    entityManager =
+        SharedEntityManagerCreator.createSharedEntityManager(
+            context.getBean(EntityManagerFactory.class));
+    readOnlyTransaction =
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    readOnlyTransaction.setReadOnly(true);
+
+    String username = "bench" + UUID.randomUUID().toString().substring(0, 8);
+    User newUser = new User();
+    newUser.setUsername(username);
+    newUser.setEmail(username + "@benchmark.local");
+    newUser.setPassword("{noop}benchmark");
+    user = userRepository.saveAndFlush(newUser);
+  }
+
+  @TearDown
+  public void tearDown() {
+    userRepository.deleteById(user.getId());
+    context.close();
+  }
+
+  @Benchmark
+  public List<User> jpqlQuery() {
+    return readOnlyTransaction.execute(
+        status ->
+            entityManager
+                .createQuery("select u from User u where u.username = :username", User.class)
+                .setParameter("username", user.getUsername())
+                .getResultList());
+  }
+
+  @Benchmark
+  public User naturalIdLookup() {
+    return userRepository.findByUsername(user.getUsername()).orElseThrow();
+  }
+}
@@ -0,0 +1,194 @@
+package com.expensetracker.userservice.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Starts the service repeatedly in each startup mode and prints the median time from launching the
+ * process to its first successful request, and its resident set size right after that request. The
+ * modes are the plain boot jar, the boot jar with Spring AOT, the extracted jar with Spring AOT and
+ * the AppCDS archive, and the native image when it has been built. Requires the database from
+ * docker-compose.yml.
+ *
+ * <p>Tuned with the system property {@code startup.runs}.
+ */
+public class StartupBenchmark {
+
+  private static final int PORT = 18090;
+
+  private final Path outputDir;
+  private final int runs = Integer.getInteger("startup.runs", 5);
+  private final HttpClient client =
+      HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+  private final HttpRequest probe =
+      HttpRequest.newBuilder(
+              URI.create("http://localhost:" + PORT + "/api/v1/users/availability?username=probe"))
+          .GET()
+          .build();
+
+  StartupBenchmark(Path outputDir) {
+    this.outputDir = outputDir;
+  }
+
+  public static void main(String[] args) throws Exception {
+    Path jar = Path.of(args[0]);
+    Path cdsDir = Path.of(args[1]);
+    Path nativeImage = Path.of(args[2]);
+    Path outputDir = Path.of(args.length > 3 ? args[3] : "build/startup");
+    Files.createDirectories(outputDir);
+    StartupBenchmark benchmark = new StartupBenchmark(outputDir);
+
+    String java = ProcessHandle.current().info().command().orElse("java");
+    List<Mode> modes = new ArrayList<>();
+    modes.add(new Mode("jvm", List.of(java, "-jar", jar.toString())));
+    modes.add(new Mode("aot", List.of(java, "-Dspring.aot.enabled=true", "-jar", jar.toString())));
+    modes.add(
+        new Mode(
+            "aot+cds",
+            List.of(
+                java,
+                "-XX:SharedArchiveFile=" + cdsDir.resolve("application.jsa"),
+                "-Dspring.aot.enabled=true",
+                "-jar",
+                cdsDir.resolve(jar.getFileName()).toString())));
+    if (Files.isExecutable(nativeImage)) {
+      modes.add(new Mode("native", List.of(nativeImage.toString())));
+    } else {
+      System.out.println("No native image at " + nativeImage + ", run gradle nativeCompile first");
+    }
+
+    List<Result> results = new ArrayList<>();
+    for (Mode mode : modes) {
+      results.add(benchmark.run(mode));
+    }
+
+    StringBuilder report = new StringBuilder();
+    report.append(
+        String.format(
+            Locale.ROOT, "%-10s %16s %16s %10s%n", "mode", "first req ms", "min ms", "RSS MB"));
+    for (Result result : results) {
+      report.append(result.format());
+    }
+    System.out.print(report);
+    Files.writeString(outputDir.resolve("results.txt"), report.toString());
+    Files.writeString(
+        outputDir.resolve("results.json"),
+        results.stream().map(Result::toJson).toList().toString());
+  }
+
+  private Result run(Mode mode) throws Exception {
+    long[] startupNanos = new long[runs];
+    long[] rssKb = new long[runs];
+    Path log = outputDir.resolve(mode.name().replace('+', '-') + ".log");
+
+    for (int run = 0; run < runs; run++) {
+      List<String> command = new ArrayList<>(mode.command());
+      command.addAll(
+          List.of(
+              "--server.port=" + PORT,
+              "--spring.jpa.show-sql=false",
+              "--logging.level.root=WARN",
+              "--logging.level.org.springframework.security=WARN"));
+
+      long start = System.nanoTime();
+      Process app =
+          new ProcessBuilder(command)
+              .redirectErrorStream(true)
+              .redirectOutput(log.toFile())
+              .start();
+      try {
+        awaitFirstRequest(app);
+        startupNanos[run] = System.nanoTime() - start;
+        rssKb[run] = residentSetKb(app.pid());
+      } finally {
+        app.destroy();
+        app.waitFor();
+      }
+    }
+    return new Result(mode.name(), startupNanos, rssKb);
+  }
+
+  private void awaitFirstRequest(Process app) throws Exception {
+    long deadline = System.nanoTime() + Duration.ofSeconds(120).toNanos();
+    while (System.nanoTime() < deadline) {
+      if (!app.isAlive()) {
+        throw new IllegalStateException("Service exited during startup, see its log");
+      }
+      try {
+        if (client.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+          return;
+        }
+      } catch (IOException ex) {
+        // Not listening yet
+      }
+      Thread.sleep(5);
+    }
+    throw new IllegalStateException("Service did not start within 120 seconds");
+  }
+
+  /** VmRSS from /proc, or -1 where there is none */
+  private static long residentSetKb(long pid) throws IOException {
+    Path status = Path.of("/proc", Long.toString(pid), "status");
+    if (!Files.exists(status)) {
+      return -1;
+    }
+    return Files.readAllLines(status).stream()
+        .filter(line -> line.startsWith("VmRSS:"))
+        .map(line -> Long.parseLong(line.replaceAll("\\D", "")))
+        .findFirst()
+        .orElse(-1L);
+  }
+
+  private record Mode(String name, List<String> command) {}
+
+  private record Result(String mode, long[] startupNanos, long[] rssKb) {
+
+    double medianStartupMs() {
+      return median(startupNanos) / 1_000_000.0;
+    }
+
+    double minStartupMs() {
+      return Arrays.stream(startupNanos).min().orElse(0) / 1_000_000.0;
+    }
+
+    double medianRssMb() {
+      return median(rssKb) / 1024.0;
+    }
+
+    String format() {
+      return String.format(
+          Locale.ROOT,
+          "%-10s %16.0f %16.0f %10.1f%n",
+          mode,
+          medianStartupMs(),
+          minStartupMs(),
+          medianRssMb());
+    }
+
+    String toJson() {
+      return String.format(
+          Locale.ROOT,
+          "{\"mode\":\"%s\",\"firstRequestMs\":%.0f,\"minFirstRequestMs\":%.0f,\"rssMb\":%.1f}",
+          mode,
+          medianStartupMs(),
+          minStartupMs(),
+          medianRssMb());
+    }
+
+    private static long median(long[] values) {
+      long[] sorted = values.clone();
+      Arrays.sort(sorted);
+      return sorted[sorted.length / 2];
+    }
+  }
+}
@@ -0,0 +1,282 @@
+package com.expensetracker.userservice.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Starts the packaged service once with platform threads and once with virtual threads, drives the
+ * same closed-loop load against {@code GET /api/v1/users/{id}} and prints throughput and latency
+ * percentiles for both modes. The users cache is disabled so every request blocks on JDBC, which is
+ * where the two modes differ. Requires the database from docker-compose.yml.
+ *
+ * <p>Tuned with the system properties {@code loadtest.concurrency}, {@code
+ * loadtest.duration-seconds}, {@code loadtest.warmup-seconds} and {@code loadtest.tomcat-threads}.
+ */
+public class ThreadModeLoadTest {
+
+  private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+  private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*\"([^\"]+)\"");
+
+  private final Path jar;
+  private final Path outputDir;
+  private final int concurrency = Integer.getInteger("loadtest.concurrency", 400);
+  private final int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 30);
+  private final int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 10);
+  private final int tomcatThreads = Integer.getInteger("loadtest.tomcat-threads", 200);
+  private final HttpClient client =
+      HttpClient.newBuilder()
+          .executor(Executors.newVirtualThreadPerTaskExecutor())
+          .connectTimeout(Duration.ofSeconds(5))
+          .build();
+
+  ThreadModeLoadTest(Path jar, Path outputDir) {
+    this.jar = jar;
+    this.outputDir = outputDir;
+  }
+
+  public static void main(String[] args) throws Exception {
+    Path outputDir = Path.of(args.length > 1 ? args[1] : "build/loadtest");
+    Files.createDirectories(outputDir);
+    ThreadModeLoadTest loadTest = new ThreadModeLoadTest(Path.of(args[0]), outputDir);
+
+    List<Result> results = new ArrayList<>();
+    for (boolean virtualThreads : new boolean[] {false, true}) {
+      results.add(loadTest.run(virtualThreads));
+    }
+
+    StringBuilder report = new StringBuilder();
+    report.append(
+        String.format(
+            Locale.ROOT,
+            "%-10s %12s %10s %10s %10s %8s %8s%n",
+            "mode",
+            "req/s",
+            "p50 ms",
+            "p99 ms",
+            "max ms",
+            "errors",
+            "pinned"));
+    for (Result result : results) {
+      report.append(result.format());
+    }
+    System.out.print(report);
+    Files.writeString(outputDir.resolve("results.txt"), report.toString());
+    Files.writeString(
+        outputDir.resolve("results.json"),
+        results.stream().map(Result::toJson).toList().toString());
+  }
+
+  private Result run(boolean virtualThreads) throws Exception {
+    String mode = virtualThreads ? "virtual" : "platform";
+    int port = 18080 + (virtualThreads ? 1 : 0);
+    String baseUrl = "http://localhost:" + port;
+    Path log = outputDir.resolve(mode + ".log");
+
+    Process app =
+        new ProcessBuilder(
+                ProcessHandle.current().info().command().orElse("java"),
+                "-Djdk.tracePinnedThreads=short",
+                "-jar",
+                jar.toString(),
+                "--server.port=" + port,
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--server.tomcat.threads.max=" + tomcatThreads,
+                "--app.cache.users.maximum-size=0",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.security=WARN")
+            .redirectErrorStream(true)
+            .redirectOutput(log.toFile())
+            .start();
+    try {
+      awaitStartup(baseUrl, app);
+      String[] credentials = registerAndLogin(baseUrl);
+      URI target = URI.create(baseUrl + "/api/v1/users/" + credentials[1]);
+      String authorization = "Bearer " + credentials[0];
+
+      drive(target, authorization, warmupSeconds);
+      Samples samples = drive(target, authorization, durationSeconds);
+
+      long pinned =
+          Files.readAllLines(log).stream().filter(line -> line.contains("<== monitors")).count();
+      return new Result(mode, samples, durationSeconds, pinned);
+    } finally {
+      app.destroy();
+      app.waitFor();
+    }
+  }
+
+  private Samples drive(URI target, String authorization, int seconds) throws Exception {
+    HttpRequest request =
+        HttpRequest.newBuilder(target).header("Authorization", authorization).GET().build();
+    AtomicBoolean running = new AtomicBoolean(true);
+    List<Samples> perWorker = new ArrayList<>();
+
+    try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < concurrency; i++) {
+        Samples samples = new Samples();
+        perWorker.add(samples);
+        workers.submit(
+            () -> {
+              while (running.get()) {
+                long start = System.nanoTime();
+                try {
+                  HttpResponse<Void> response =
+                      client.send(request, HttpResponse.BodyHandlers.discarding());
+                  if (response.statusCode() == 200) {
+                    samples.add(System.nanoTime() - start);
+                  } else {
+                    samples.errors++;
+                  }
+                } catch (IOException ex) {
+                  samples.errors++;
+                } catch (InterruptedException ex) {
+                  Thread.currentThread().interrupt();
+                  return;
+                }
+              }
+            });
+      }
+      Thread.sleep(Duration.ofSeconds(seconds));
+      running.set(false);
+    }
+
+    Samples merged = new Samples();
+    perWorker.forEach(merged::addAll);
+    return merged;
+  }
+
+  private void awaitStartup(String baseUrl, Process app) throws Exception {
+    HttpRequest probe =
+        HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/users/availability?username=probe"))
+            .GET()
+            .build();
+    for (int attempt = 0; attempt < 120; attempt++) {
+      if (!app.isAlive()) {
+        throw new IllegalStateException("Service exited during startup, see its log");
+      }
+      try {
+        if (client.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+          return;
+        }
+      } catch (IOException ex) {
+        // Not listening yet
+      }
+      Thread.sleep(500);
+    }
+    throw new IllegalStateException("Service did not start within 60 seconds");
+  }
+
+  private String[] registerAndLogin(String baseUrl) throws Exception {
+    String username = "load" + UUID.randomUUID().toString().substring(0, 8);
+    String password = "Load@Test1";
+    post(
+        baseUrl + "/api/v1/users/register",
+        String.format(
+            "{\"username\":\"%s\",\"email\":\"%s@loadtest.local\",\"password\":\"%s\"}",
+            username, username, password));
+    String login =
+        post(
+            baseUrl + "/api/v1/users/login",
+            String.format("{\"username\":\"%s\",\"password\":\"%s\"}", username, password));
+    return new String[] {extract(TOKEN, login), extract(ID, login)};
+  }
+
+  private String post(String url, String body) throws Exception {
+    HttpRequest request =
+        HttpRequest.newBuilder(URI.create(url))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    return client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+  }
+
+  private static String extract(Pattern pattern, String json) {
+    Matcher matcher = pattern.matcher(json);
+    if (!matcher.find()) {
+      throw new IllegalStateException("Unexpected response: " + json);
+    }
+    return matcher.group(1);
+  }
+
+  /** Latencies recorded by one worker, in nanoseconds */
+  private static class Samples {
+    private long[] latencies = new long[1024];
+    private int count;
+    private long errors;
+
+    void add(long latency) {
+      if (count == latencies.length) {
+        latencies = Arrays.copyOf(latencies, count * 2);
+      }
+      latencies[count++] = latency;
+    }
+
+    void addAll(Samples other) {
+      for (int i = 0; i < other.count; i++) {
+        add(other.latencies[i]);
+      }
+      errors += other.errors;
+    }
+
+    double percentileMs(double percentile) {
+      if (count == 0) {
+        return 0;
+      }
+      long[] sorted = Arrays.copyOf(latencies, count);
+      Arrays.sort(sorted);
+      int index = (int) Math.min(count - 1, Math.ceil(percentile / 100 * count) - 1);
+      return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+  }
+
+  private record Result(String mode, Samples samples, int seconds, long pinned) {
+
+    double throughput() {
+      return (double) samples.count / seconds;
+    }
+
+    String format() {
+      return String.format(
+          Locale.ROOT,
+          "%-10s %12.1f %10.2f %10.2f %10.2f %8d %8d%n",
+          mode,
+          throughput(),
+          samples.percentileMs(50),
+          samples.percentileMs(99),
+          samples.percentileMs(100),
+          samples.errors,
+          pinned);
+    }
+
+    String toJson() {
+      return String.format(
+          Locale.ROOT,
+          "{\"mode\":\"%s\",\"throughput\":%.1f,\"p50Ms\":%.2f,\"p99Ms\":%.2f,"
+              + "\"maxMs\":%.2f,\"errors\":%d,\"pinnedEvents\":%d}",
+          mode,
+          throughput(),
+          samples.percentileMs(50),
+          samples.percentileMs(99),
+          samples.percentileMs(100),
+          samples.errors,
+          pinned);
+    }
+  }
+}
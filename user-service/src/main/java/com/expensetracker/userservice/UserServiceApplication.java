@@ -3,9 +3,15 @@ package com.expensetracker.userservice;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.expensetracker.userservice.config.NativeRuntimeHints;
 
 @SpringBootApplication
 @EnableCaching
+@EnableScheduling
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class UserServiceApplication {
 
   public static void main(String[] args) {
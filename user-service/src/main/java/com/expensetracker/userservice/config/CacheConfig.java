@@ -0,0 +1,140 @@
+package com.expensetracker.userservice.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.expensetracker.userservice.entity.User;
+import com.expensetracker.userservice.repository.UserRepository;
+import com.expensetracker.userservice.util.UserMapper;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+
+@Configuration
+public class CacheConfig {
+
+  public static final String USERS_CACHE = "users";
+  public static final String USERS_BY_USERNAME_CACHE = "usersByUsername";
+
+  @Bean
+  public CacheManager cacheManager(
+      UserRepository userRepository,
+      UserMapper userMapper,
+      @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+      @Value("${app.cache.users.maximum-size}") long usersMaximumSize,
+      @Value("${app.cache.users.expire-after-write}") Duration usersExpireAfterWrite,
+      @Value("${app.cache.users.refresh-after-write}") Duration usersRefreshAfterWrite,
+      @Value("${app.cache.users-by-username.maximum-size}") long usersByUsernameMaximumSize,
+      @Value("${app.cache.users-by-username.expire-after-write}")
+          Duration usersByUsernameExpireAfterWrite,
+      @Value("${app.cache.users-by-username.refresh-after-write}")
+          Duration usersByUsernameRefreshAfterWrite) {
+    CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+
+    // Refreshes block on JDBC, so run them on virtual threads rather than the common pool
+    Executor refreshExecutor =
+        virtualThreads ? Executors.newVirtualThreadPerTaskExecutor() : ForkJoinPool.commonPool();
+
+    // Loaders are used for refresh-ahead: hot entries are reloaded in the background before expiry
+    cacheManager.registerCustomCache(
+        USERS_CACHE,
+        buildCache(
+            usersMaximumSize,
+            usersExpireAfterWrite,
+            usersRefreshAfterWrite,
+            refreshExecutor,
+            id -> userRepository.findById((UUID) id).map(userMapper::toDTO).orElse(null)));
+    cacheManager.registerCustomCache(
+        USERS_BY_USERNAME_CACHE,
+        buildCache(
+            usersByUsernameMaximumSize,
+            usersByUsernameExpireAfterWrite,
+            usersByUsernameRefreshAfterWrite,
+            refreshExecutor,
+            username ->
+                userRepository
+                    .findByUsername((String) username)
+                    .map(userMapper::toDTO)
+                    .orElse(null)));
+
+    return cacheManager;
+  }
+
+  /**
+   * JCache manager holding Hibernate's second-level cache regions, each a bounded Caffeine cache
+   */
+  @Bean(destroyMethod = "close")
+  public javax.cache.CacheManager hibernateCacheManager(
+      @Value("${app.cache.hibernate.user.maximum-size}") long maximumSize,
+      @Value("${app.cache.hibernate.user.expire-after-write}") Duration expireAfterWrite) {
+    CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+    javax.cache.CacheManager cacheManager = provider.getCacheManager();
+    for (String region : List.of(User.CACHE_REGION, User.NATURAL_ID_CACHE_REGION)) {
+      if (cacheManager.getCache(region) == null) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(expireAfterWrite.toNanos()));
+        configuration.setStatisticsEnabled(true);
+        cacheManager.createCache(region, configuration);
+      }
+    }
+    return cacheManager;
+  }
+
+  @Bean
+  public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(
+      javax.cache.CacheManager hibernateCacheManager) {
+    return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+  }
+
+  @Bean
+  public MeterBinder hibernateCacheMetrics(javax.cache.CacheManager hibernateCacheManager) {
+    return registry ->
+        hibernateCacheManager
+            .getCacheNames()
+            .forEach(
+                name ->
+                    JCacheMetrics.monitor(
+                        registry,
+                        hibernateCacheManager.getCache(name),
+                        Tags.of("name", name, "cache.manager", "hibernate")));
+  }
+
+  // Size-bounded caches use Caffeine's W-TinyLFU eviction
+  private LoadingCache<Object, Object> buildCache(
+      long maximumSize,
+      Duration expireAfterWrite,
+      Duration refreshAfterWrite,
+      Executor executor,
+      CacheLoader<Object, Object> loader) {
+    return Caffeine.newBuilder()
+        .executor(executor)
+        .maximumSize(maximumSize)
+        .expireAfterWrite(expireAfterWrite)
+        .refreshAfterWrite(refreshAfterWrite)
+        .recordStats()
+        .build(loader);
+  }
+}
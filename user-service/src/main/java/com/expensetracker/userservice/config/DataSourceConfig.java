@@ -0,0 +1,160 @@
+package com.expensetracker.userservice.config;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.expensetracker.userservice.util.ConcurrencyLimitedDataSource;
+import com.expensetracker.userservice.util.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Configuration
+public class DataSourceConfig {
+
+  /**
+   * Wrap the Hikari pool so callers never wait for more connections than it holds, and route
+   * read-only transactions to the replicas when any are configured. Replica pools copy the primary
+   * pool's settings apart from a shorter connection timeout.
+   */
+  @Bean
+  public static BeanPostProcessor dataSourcePostProcessor(Environment environment) {
+    boolean concurrencyLimit =
+        environment.getProperty("app.datasource.concurrency-limit.enabled", Boolean.class, true);
+    List<String> replicaUrls =
+        Binder.get(environment)
+            .bind("app.datasource.replicas.urls", Bindable.listOf(String.class))
+            .orElse(List.of())
+            .stream()
+            .filter(url -> !url.isBlank())
+            .toList();
+    long maxLagMs =
+        environment.getProperty("app.datasource.replicas.max-lag-ms", Long.class, 1000L);
+    long replicaConnectionTimeoutMs =
+        environment.getProperty("app.datasource.replicas.connection-timeout-ms", Long.class, 1000L);
+
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof HikariDataSource hikari)) {
+          return bean;
+        }
+        DataSource primary = concurrencyLimit ? limit(hikari) : hikari;
+        if (replicaUrls.isEmpty()) {
+          return primary;
+        }
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+          HikariDataSource replica =
+              replicaPool(hikari, replicaUrls.get(i), "replica-" + i, replicaConnectionTimeoutMs);
+          replicas.put("replica-" + i, concurrencyLimit ? limit(replica) : replica);
+        }
+        return new LazyConnectionDataSourceProxy(
+            new ReplicaRoutingDataSource(primary, replicas, maxLagMs));
+      }
+    };
+  }
+
+  private static ConcurrencyLimitedDataSource limit(HikariDataSource hikari) {
+    return new ConcurrencyLimitedDataSource(
+        hikari, hikari.getMaximumPoolSize(), hikari.getConnectionTimeout());
+  }
+
+  private static HikariDataSource replicaPool(
+      HikariDataSource primary, String jdbcUrl, String poolName, long connectionTimeoutMs) {
+    HikariConfig config = new HikariConfig();
+    primary.copyStateTo(config);
+    config.setJdbcUrl(jdbcUrl);
+    config.setPoolName(poolName);
+    config.setReadOnly(true);
+    // Reads give up on a busy or unreachable replica quickly and fall back to the primary
+    config.setConnectionTimeout(connectionTimeoutMs);
+    // A replica that is down at startup is left out of rotation by the lag check instead
+    config.setInitializationFailTimeout(-1);
+    return new HikariDataSource(config);
+  }
+
+  @Bean
+  public MeterBinder concurrencyLimitedDataSourceMetrics(DataSource dataSource) {
+    return registry -> {
+      ReplicaRoutingDataSource routing = unwrap(dataSource, ReplicaRoutingDataSource.class);
+      Map<String, DataSource> targets =
+          routing == null
+              ? Map.of(ReplicaRoutingDataSource.PRIMARY, dataSource)
+              : routing.getTargets();
+
+      targets.forEach(
+          (pool, target) -> {
+            ConcurrencyLimitedDataSource limited =
+                unwrap(target, ConcurrencyLimitedDataSource.class);
+            if (limited == null) {
+              return;
+            }
+            Gauge.builder(
+                    "jdbc.connections.permits.available",
+                    limited,
+                    ConcurrencyLimitedDataSource::getAvailablePermits)
+                .description("Connections that can still be checked out without waiting")
+                .tag("pool", pool)
+                .register(registry);
+            Gauge.builder(
+                    "jdbc.connections.permits.waiting",
+                    limited,
+                    ConcurrencyLimitedDataSource::getQueueLength)
+                .description("Threads waiting for a connection permit")
+                .tag("pool", pool)
+                .register(registry);
+            FunctionTimer.builder(
+                    "jdbc.connections.permits.wait",
+                    limited,
+                    ConcurrencyLimitedDataSource::getAcquireCount,
+                    ConcurrencyLimitedDataSource::getAcquireWaitNanos,
+                    TimeUnit.NANOSECONDS)
+                .description("Time spent waiting for a connection permit before reaching the pool")
+                .tag("pool", pool)
+                .register(registry);
+          });
+
+      if (routing != null) {
+        for (String replica : routing.getReplicaNames()) {
+          Gauge.builder(
+                  "jdbc.replica.lag",
+                  routing,
+                  r -> {
+                    long lagMs = r.getReplicaLagMs(replica);
+                    return lagMs == Long.MAX_VALUE ? Double.NaN : lagMs;
+                  })
+              .description("Replication lag of a replica, NaN while it is unreachable")
+              .baseUnit("milliseconds")
+              .tag("replica", replica)
+              .register(registry);
+        }
+      }
+    };
+  }
+
+  private static <T> T unwrap(DataSource dataSource, Class<T> type) {
+    try {
+      return dataSource.isWrapperFor(type) ? dataSource.unwrap(type) : null;
+    } catch (SQLException ex) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,21 @@
+package com.expensetracker.userservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.expensetracker.common.id.UUIDv7Generator;
+
+@Configuration
+public class IdGeneratorConfig {
+
+  /** Installed as the default, so entity ids and bulk-import ids carry this instance's node id */
+  @Bean
+  public UUIDv7Generator uuidv7Generator(
+      @Value("${app.ids.node-id:}") Integer nodeId, @Value("${app.ids.node-bits}") int nodeBits) {
+    UUIDv7Generator generator =
+        nodeId == null ? new UUIDv7Generator() : new UUIDv7Generator(nodeId, nodeBits);
+    UUIDv7Generator.setDefault(generator);
+    return generator;
+  }
+}
@@ -1,12 +1,30 @@
 package com.expensetracker.userservice.config;
 
+import java.time.LocalDateTime;
+
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.core.NativeDetector;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 
+import com.expensetracker.userservice.util.DtoJackson2HttpMessageConverter;
+import com.expensetracker.userservice.util.IsoLocalDateTimeSerializer;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.cfg.MapperBuilder;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
 
 @Configuration
 public class JacksonConfig {
@@ -14,9 +32,57 @@ public class JacksonConfig {
   @Bean
   @Primary
   public ObjectMapper objectMapper() {
-    ObjectMapper objectMapper = new ObjectMapper();
-    objectMapper.registerModule(new JavaTimeModule());
-    objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-    return objectMapper;
+    // Parser and generator buffers come from one shared pool; the default pool is per thread,
+    // which hands every virtual thread new buffers
+    return configure(
+        JsonMapper.builder(
+            JsonFactory.builder()
+                .recyclerPool(JsonRecyclerPools.sharedConcurrentDequePool())
+                .build()));
+  }
+
+  @Bean
+  public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(
+      ObjectMapper objectMapper) {
+    return new DtoJackson2HttpMessageConverter(objectMapper);
+  }
+
+  // Binary encodings of the same model for service-to-service calls, picked per request by
+  // Accept / Content-Type (application/x-jackson-smile, application/cbor). JSON is listed first,
+  // so clients that do not ask for them keep getting JSON.
+
+  @Bean
+  public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter() {
+    return new MappingJackson2SmileHttpMessageConverter(
+        configure(
+            SmileMapper.builder(
+                SmileFactory.builder()
+                    .recyclerPool(JsonRecyclerPools.sharedConcurrentDequePool())
+                    .build())));
+  }
+
+  @Bean
+  public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter() {
+    return new MappingJackson2CborHttpMessageConverter(
+        configure(
+            CBORMapper.builder(
+                CBORFactory.builder()
+                    .recyclerPool(JsonRecyclerPools.sharedConcurrentDequePool())
+                    .build())));
+  }
+
+  private static <M extends ObjectMapper, B extends MapperBuilder<M, B>> M configure(B builder) {
+    builder
+        .addModule(new JavaTimeModule())
+        .addModule(
+            new SimpleModule("IsoLocalDateTime")
+                .addSerializer(LocalDateTime.class, new IsoLocalDateTimeSerializer()))
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    // Property access through generated lambdas instead of reflection. A native image cannot
+    // define classes at runtime, so there it keeps the reflective access.
+    if (!NativeDetector.inNativeImage()) {
+      builder.addModule(new BlackbirdModule());
+    }
+    return builder.build();
   }
 }
@@ -0,0 +1,87 @@
+package com.expensetracker.userservice.config;
+
+import java.util.List;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import com.expensetracker.common.id.UUIDv7IdentifierGenerator;
+import com.expensetracker.userservice.dto.response.ErrorResponse;
+import com.expensetracker.userservice.entity.RefreshToken;
+import com.expensetracker.userservice.entity.RevokedToken;
+import com.expensetracker.userservice.entity.SigningKey;
+import com.expensetracker.userservice.entity.User;
+
+/**
+ * Reflection the native image cannot discover on its own. Spring AOT covers beans, controller
+ * payloads and the JPA managed types; this adds what libraries look up by name at runtime.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+  // jjwt-api creates its implementation classes reflectively by name
+  private static final List<String> JJWT_IMPL_CLASSES =
+      List.of(
+          "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+          "io.jsonwebtoken.impl.DefaultJwtBuilder",
+          "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+          "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+          "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+          "io.jsonwebtoken.impl.security.DefaultDynamicJwkBuilder",
+          "io.jsonwebtoken.impl.security.DefaultJwkParserBuilder",
+          "io.jsonwebtoken.impl.security.DefaultJwkSetBuilder",
+          "io.jsonwebtoken.impl.security.DefaultJwkSetParserBuilder",
+          "io.jsonwebtoken.impl.security.DefaultKeyOperationBuilder",
+          "io.jsonwebtoken.impl.security.DefaultKeyOperationPolicyBuilder",
+          "io.jsonwebtoken.impl.security.JwksBridge",
+          "io.jsonwebtoken.impl.security.KeysBridge",
+          "io.jsonwebtoken.impl.security.StandardCurves",
+          "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+          "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+          "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+          "io.jsonwebtoken.impl.security.StandardKeyOperations",
+          "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+          "io.jsonwebtoken.jackson.io.JacksonDeserializer",
+          "io.jsonwebtoken.jackson.io.JacksonSerializer");
+
+  @Override
+  public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+    JJWT_IMPL_CLASSES.forEach(
+        name ->
+            hints
+                .reflection()
+                .registerType(
+                    TypeReference.of(name),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS));
+    hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+    // Mappers.getMapper and the bean definition both instantiate the generated implementation
+    hints
+        .reflection()
+        .registerType(
+            TypeReference.of("com.expensetracker.userservice.util.UserMapperImpl"),
+            MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+
+    // Hibernate reads entity fields and creates the id generator reflectively
+    for (Class<?> entity :
+        List.of(User.class, RefreshToken.class, RevokedToken.class, SigningKey.class)) {
+      hints
+          .reflection()
+          .registerType(
+              entity,
+              MemberCategory.DECLARED_FIELDS,
+              MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+              MemberCategory.INVOKE_DECLARED_METHODS);
+    }
+    hints
+        .reflection()
+        .registerType(UUIDv7IdentifierGenerator.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+
+    // Error bodies are serialized by ErrorResponseTemplate outside of any handler method
+    new BindingReflectionHintsRegistrar()
+        .registerReflectionHints(hints.reflection(), ErrorResponse.class);
+  }
+}
@@ -1,19 +1,29 @@
 package com.expensetracker.userservice.config;
 
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import com.expensetracker.userservice.util.BCryptCostCalibrator;
 import com.expensetracker.userservice.util.JwtAccessDeniedHandler;
 import com.expensetracker.userservice.util.JwtAuthenticationEntryPoint;
 import com.expensetracker.userservice.util.JwtAuthenticationFilter;
+import com.expensetracker.userservice.util.UserRoles;
 
 import lombok.RequiredArgsConstructor;
 
@@ -31,7 +41,12 @@ public class SecurityConfig {
   };
 
   private static final String[] PUBLIC_ENDPOINTS = {
-    "/api/v1/users/register", "/api/v1/users/login"
+    "/api/v1/users/register",
+    "/api/v1/users/login",
+    "/api/v1/users/availability",
+    "/api/v1/users/token/refresh",
+    "/api/v1/users/logout",
+    "/.well-known/jwks.json"
   };
 
   @Bean
@@ -51,6 +66,12 @@ public class SecurityConfig {
                     .permitAll()
                     .requestMatchers(SWAGGER_PATHS)
                     .permitAll()
+                    // Scrapers and probes carry no token; keep /actuator off the public ingress
+                    .requestMatchers(EndpointRequest.to("health", "prometheus"))
+                    .permitAll()
+                    // Creates accounts and hashes a password for each row, so not for every user
+                    .requestMatchers(HttpMethod.POST, "/api/v1/users/bulk")
+                    .hasAuthority(UserRoles.ADMIN)
                     .anyRequest()
                     .authenticated())
         .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
@@ -58,8 +79,31 @@ public class SecurityConfig {
     return http.build();
   }
 
+  /**
+   * Delegating encoder that stores hashes with an algorithm id prefix such as {@code {bcrypt}}, so
+   * the algorithm or cost can change without forcing password resets. Hashes stored before the
+   * prefix was introduced are matched as plain BCrypt and upgraded on the next login.
+   */
   @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  public PasswordEncoder passwordEncoder(
+      @Value("${app.security.password.encoding-id:bcrypt}") String encodingId,
+      @Value("${app.security.password.calibrate:true}") boolean calibrate,
+      @Value("${app.security.password.bcrypt.strength:10}") int strength,
+      @Value("${app.security.password.bcrypt.min-strength:10}") int minStrength,
+      @Value("${app.security.password.bcrypt.max-strength:14}") int maxStrength,
+      @Value("${app.security.password.hash-budget-ms:100}") long hashBudgetMs) {
+    int bcryptStrength =
+        calibrate
+            ? BCryptCostCalibrator.calibrate(minStrength, maxStrength, hashBudgetMs)
+            : strength;
+    BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+
+    Map<String, PasswordEncoder> encoders = new HashMap<>();
+    encoders.put("bcrypt", bcrypt);
+    encoders.put("pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+
+    DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(encodingId, encoders);
+    passwordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+    return passwordEncoder;
   }
 }
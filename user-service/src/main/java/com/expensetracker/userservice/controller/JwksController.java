@@ -0,0 +1,48 @@
+package com.expensetracker.userservice.controller;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.expensetracker.userservice.util.JwtKeyRing;
+
+import io.jsonwebtoken.security.Jwk;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@Tag(name = "Token Keys", description = "Public keys for verifying issued tokens")
+public class JwksController {
+
+  public static final String JWKS_PATH = "/.well-known/jwks.json";
+
+  private static final MediaType JWK_SET = MediaType.parseMediaType("application/jwk-set+json");
+
+  private final JwtKeyRing keyRing;
+  private final CacheControl cacheControl;
+
+  public JwksController(
+      JwtKeyRing keyRing, @Value("${app.jwt.jwks.cache-max-age-seconds}") long cacheMaxAgeSeconds) {
+    this.keyRing = keyRing;
+    this.cacheControl = CacheControl.maxAge(Duration.ofSeconds(cacheMaxAgeSeconds)).cachePublic();
+  }
+
+  @Operation(
+      summary = "Get token signing keys",
+      description =
+          "Public keys of the current and recent signing keys as a JWK set. Tokens name their key"
+              + " in the kid header.")
+  @ApiResponse(responseCode = "200", description = "JWK set")
+  @GetMapping(JWKS_PATH)
+  public ResponseEntity<Map<String, List<Jwk<?>>>> getJwks() {
+    return ResponseEntity.ok().cacheControl(cacheControl).contentType(JWK_SET).body(keyRing.jwks());
+  }
+}
@@ -0,0 +1,45 @@
+package com.expensetracker.userservice.controller;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.expensetracker.userservice.util.AcceptEncoding;
+
+/**
+ * Serves the OpenAPI document generated at build time when springdoc is disabled (the static-docs
+ * profile), gzip-compressed at build time for clients that accept it.
+ */
+@RestController
+@ConditionalOnProperty(name = "springdoc.api-docs.enabled", havingValue = "false")
+public class StaticOpenApiController {
+
+  private final byte[] spec;
+  private final byte[] gzippedSpec;
+
+  public StaticOpenApiController(
+      @Value("classpath:openapi/user-service.json") Resource spec,
+      @Value("classpath:openapi/user-service.json.gz") Resource gzippedSpec)
+      throws IOException {
+    this.spec = spec.getContentAsByteArray();
+    this.gzippedSpec = gzippedSpec.getContentAsByteArray();
+  }
+
+  @GetMapping(value = "/v3/api-docs", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<byte[]> getApiDocs(
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT_ENCODING);
+    if (AcceptEncoding.accepts(acceptEncoding, "gzip")) {
+      return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzippedSpec);
+    }
+    return response.body(spec);
+  }
+}
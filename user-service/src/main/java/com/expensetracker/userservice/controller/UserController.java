@@ -1,17 +1,46 @@
 package com.expensetracker.userservice.controller;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import com.expensetracker.userservice.dto.*;
 import com.expensetracker.userservice.dto.request.CreateUserRequest;
 import com.expensetracker.userservice.dto.request.LoginRequest;
+import com.expensetracker.userservice.dto.request.RefreshTokenRequest;
+import com.expensetracker.userservice.dto.request.UserBatchRequest;
 import com.expensetracker.userservice.dto.response.AuthResponse;
+import com.expensetracker.userservice.dto.response.AvailabilityResponse;
+import com.expensetracker.userservice.dto.response.BulkImportResponse;
+import com.expensetracker.userservice.dto.response.UserBatchResponse;
+import com.expensetracker.userservice.dto.response.UserLookupResult;
 import com.expensetracker.userservice.dto.response.UserResponse;
+import com.expensetracker.userservice.exception.ResourceNotFoundException;
+import com.expensetracker.userservice.exception.ValidationException;
+import com.expensetracker.userservice.service.LoginThrottleService;
+import com.expensetracker.userservice.service.UserAvailabilityService;
+import com.expensetracker.userservice.service.UserBulkImportService;
 import com.expensetracker.userservice.service.UserService;
+import com.expensetracker.userservice.util.UserETags;
 import com.expensetracker.userservice.util.UserMapper;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -19,6 +48,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -30,8 +60,25 @@ import lombok.RequiredArgsConstructor;
     description = "Operations for user registration, authentication and management")
 public class UserController {
 
+  // The encodings of a user, in the order the message converters are registered
+  private static final List<MediaType> USER_FORMATS =
+      List.of(
+          MediaType.APPLICATION_JSON,
+          new MediaType("application", "x-jackson-smile"),
+          MediaType.APPLICATION_CBOR);
+
   private final UserService userService;
   private final UserMapper userMapper;
+  private final UserAvailabilityService userAvailabilityService;
+  private final UserBulkImportService userBulkImportService;
+  private final LoginThrottleService loginThrottleService;
+  private final ContentNegotiationManager contentNegotiationManager;
+
+  @Value("${app.users.batch.max-ids:100}")
+  private int maxBatchIds;
+
+  @Value("${app.users.cache-control.max-age:60s}")
+  private Duration userMaxAge;
 
   @Operation(
       summary = "Get user by ID",
@@ -39,15 +86,71 @@ public class UserController {
       security = @SecurityRequirement(name = "bearerAuth"))
   @ApiResponses({
     @ApiResponse(responseCode = "200", description = "User details retrieved successfully"),
+    @ApiResponse(
+        responseCode = "304",
+        description = "The user is unchanged since the ETag given in If-None-Match"),
     @ApiResponse(responseCode = "401", ref = "#/components/responses/UnauthorizedError"),
     @ApiResponse(responseCode = "403", ref = "#/components/responses/ForbiddenError"),
     @ApiResponse(responseCode = "404", ref = "#/components/responses/NotFoundError"),
     @ApiResponse(responseCode = "500", ref = "#/components/responses/InternalServerError")
   })
   @GetMapping("/{id}")
-  public ResponseEntity<UserResponse> getUserById(@PathVariable UUID id) {
+  public ResponseEntity<UserResponse> getUserById(@PathVariable UUID id, HttpServletRequest request)
+      throws HttpMediaTypeNotAcceptableException {
+    // The tag comes from the cached UserDTO, so a revalidation is answered without a query and
+    // without mapping or serializing the body
     UserDTO userDTO = userService.getUserById(id);
-    return ResponseEntity.ok(userMapper.toResponse(userDTO));
+    MediaType format = negotiateUserFormat(request);
+    ETag etag = UserETags.of(userDTO, format);
+    CacheControl cacheControl = CacheControl.maxAge(userMaxAge).cachePrivate().mustRevalidate();
+    if (UserETags.matchesAny(etag, request.getHeaders(HttpHeaders.IF_NONE_MATCH))) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+          .eTag(etag.formattedTag())
+          .cacheControl(cacheControl)
+          .varyBy(HttpHeaders.ACCEPT)
+          .build();
+    }
+    return ResponseEntity.ok()
+        .contentType(format)
+        .eTag(etag.formattedTag())
+        .cacheControl(cacheControl)
+        .varyBy(HttpHeaders.ACCEPT)
+        .body(userMapper.toResponse(userDTO));
+  }
+
+  @Operation(
+      summary = "Get users by IDs",
+      description =
+          "Retrieve several users in one call. Results are returned in request order, with"
+              + " found=false for unknown IDs. Requires authentication.",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponses({
+    @ApiResponse(responseCode = "200", description = "Users retrieved successfully"),
+    @ApiResponse(responseCode = "400", ref = "#/components/responses/ValidationError"),
+    @ApiResponse(responseCode = "401", ref = "#/components/responses/UnauthorizedError"),
+    @ApiResponse(responseCode = "403", ref = "#/components/responses/ForbiddenError"),
+    @ApiResponse(responseCode = "500", ref = "#/components/responses/InternalServerError")
+  })
+  @PostMapping("/batch")
+  public ResponseEntity<UserBatchResponse> getUsersByIds(
+      @Valid @RequestBody UserBatchRequest request) {
+    if (request.getIds().size() > maxBatchIds) {
+      throw new ValidationException(
+          "Too many ids", List.of("At most " + maxBatchIds + " ids can be requested at once"));
+    }
+
+    Map<UUID, UserDTO> users = userService.getUsersByIds(request.getIds());
+    List<UserLookupResult> results =
+        request.getIds().stream()
+            .map(
+                id ->
+                    UserLookupResult.builder()
+                        .id(id)
+                        .found(users.containsKey(id))
+                        .user(users.containsKey(id) ? userMapper.toResponse(users.get(id)) : null)
+                        .build())
+            .toList();
+    return ResponseEntity.ok(UserBatchResponse.builder().results(results).build());
   }
 
   @Operation(
@@ -81,16 +184,161 @@ public class UserController {
     @ApiResponse(responseCode = "200", description = "Login successful"),
     @ApiResponse(responseCode = "400", ref = "#/components/responses/BadRequestError"),
     @ApiResponse(responseCode = "401", ref = "#/components/responses/UnauthorizedError"),
+    @ApiResponse(
+        responseCode = "429",
+        description = "Too many login attempts for the username or client, see Retry-After"),
     @ApiResponse(responseCode = "500", ref = "#/components/responses/InternalServerError")
   })
   @PostMapping("/login")
-  public ResponseEntity<AuthResponse> loginUser(@Valid @RequestBody LoginRequest loginRequest) {
+  public ResponseEntity<AuthResponse> loginUser(
+      @Valid @RequestBody LoginRequest loginRequest, HttpServletRequest request) {
+    // Turn away throttled attempts before any password hashing or database access
+    String username = loginRequest.getUsername();
+    String clientIp = request.getRemoteAddr();
+    loginThrottleService.acquire(username, clientIp);
+
     // Convert request to DTO
     UserDTO userDTO = userMapper.toDTO(loginRequest);
 
-    // Call service
-    AuthResponse authResponse = userService.authenticateUser(userDTO);
+    // Call service, counting failures towards the back-off
+    AuthResponse authResponse;
+    try {
+      authResponse = userService.authenticateUser(userDTO);
+    } catch (BadCredentialsException | ResourceNotFoundException ex) {
+      loginThrottleService.recordFailure(username, clientIp);
+      throw ex;
+    }
+    loginThrottleService.recordSuccess(username, clientIp);
 
     return ResponseEntity.ok(authResponse);
   }
+
+  @Operation(
+      summary = "Refresh tokens",
+      description =
+          "Exchange a refresh token for a new access token and refresh token. Each refresh token"
+              + " works once; presenting a used one revokes its whole session. No authentication"
+              + " required.")
+  @ApiResponses({
+    @ApiResponse(responseCode = "200", description = "Tokens refreshed successfully"),
+    @ApiResponse(responseCode = "400", ref = "#/components/responses/BadRequestError"),
+    @ApiResponse(responseCode = "401", ref = "#/components/responses/UnauthorizedError"),
+    @ApiResponse(responseCode = "500", ref = "#/components/responses/InternalServerError")
+  })
+  @PostMapping("/token/refresh")
+  public ResponseEntity<AuthResponse> refreshToken(
+      @Valid @RequestBody RefreshTokenRequest request) {
+    return ResponseEntity.ok(userService.refreshToken(request.getRefreshToken()));
+  }
+
+  @Operation(
+      summary = "Logout",
+      description =
+          "Revoke the session of a refresh token, and the bearer access token if one is sent. No"
+              + " authentication required.")
+  @ApiResponses({
+    @ApiResponse(responseCode = "204", description = "Logged out successfully"),
+    @ApiResponse(responseCode = "400", ref = "#/components/responses/BadRequestError"),
+    @ApiResponse(responseCode = "500", ref = "#/components/responses/InternalServerError")
+  })
+  @PostMapping("/logout")
+  public ResponseEntity<Void> logout(
+      @Valid @RequestBody RefreshTokenRequest request,
+      @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+    String accessToken =
+        authorization != null && authorization.startsWith("Bearer ")
+            ? authorization.substring(7)
+            : null;
+    userService.logout(request.getRefreshToken(), accessToken);
+    return ResponseEntity.noContent().build();
+  }
+
+  @Operation(
+      summary = "Bulk import users",
+      description =
+          "Create many users at once from a JSON array of registration requests or a CSV document"
+              + " with a username,email,password header. The body is streamed and every row is"
+              + " reported separately. Requires an admin token; one import runs at a time.",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponses({
+    @ApiResponse(responseCode = "200", description = "Import processed, see the per-row results"),
+    @ApiResponse(responseCode = "400", ref = "#/components/responses/BadRequestError"),
+    @ApiResponse(responseCode = "401", ref = "#/components/responses/UnauthorizedError"),
+    @ApiResponse(responseCode = "403", ref = "#/components/responses/ForbiddenError"),
+    @ApiResponse(responseCode = "500", ref = "#/components/responses/InternalServerError"),
+    @ApiResponse(
+        responseCode = "503",
+        description = "Another import is running or password hashing is saturated")
+  })
+  @PostMapping(
+      value = "/bulk",
+      consumes = {MediaType.APPLICATION_JSON_VALUE, "text/csv"})
+  public ResponseEntity<BulkImportResponse> bulkImport(HttpServletRequest request)
+      throws IOException {
+    MediaType contentType = MediaType.parseMediaType(request.getContentType());
+    BulkImportResponse response =
+        MediaType.APPLICATION_JSON.isCompatibleWith(contentType)
+            ? userBulkImportService.importJson(request.getInputStream())
+            : userBulkImportService.importCsv(request.getInputStream());
+    return ResponseEntity.ok(response);
+  }
+
+  @Operation(
+      summary = "Check username and email availability",
+      description =
+          "Check whether a username and/or email can still be registered. Meant for signup forms"
+              + " checking as the user types. No authentication required.")
+  @ApiResponses({
+    @ApiResponse(responseCode = "200", description = "Availability checked successfully"),
+    @ApiResponse(responseCode = "400", ref = "#/components/responses/BadRequestError"),
+    @ApiResponse(responseCode = "500", ref = "#/components/responses/InternalServerError")
+  })
+  @GetMapping("/availability")
+  public ResponseEntity<AvailabilityResponse> checkAvailability(
+      @RequestParam(required = false) String username,
+      @RequestParam(required = false) String email) {
+    if (username == null && email == null) {
+      throw new ValidationException(
+          "Nothing to check", List.of("Provide a username and/or an email query parameter"));
+    }
+    return ResponseEntity.ok(userAvailabilityService.checkAvailability(username, email));
+  }
+
+  @Operation(
+      summary = "Revoke all tokens",
+      description =
+          "Revoke every access and refresh token issued to the authenticated user so far."
+              + " Requires authentication.",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponses({
+    @ApiResponse(responseCode = "204", description = "Tokens revoked successfully"),
+    @ApiResponse(responseCode = "401", ref = "#/components/responses/UnauthorizedError"),
+    @ApiResponse(responseCode = "500", ref = "#/components/responses/InternalServerError")
+  })
+  @PostMapping("/me/revoke-tokens")
+  public ResponseEntity<Void> revokeTokens(@AuthenticationPrincipal UserDetails principal) {
+    userService.revokeTokens(principal.getUsername());
+    return ResponseEntity.noContent().build();
+  }
+
+  // Picks the body format up front, as the converters would, so the ETag can name it. The
+  // response sets it as its Content-Type, so the converters cannot pick another one.
+  private MediaType negotiateUserFormat(HttpServletRequest request)
+      throws HttpMediaTypeNotAcceptableException {
+    List<MediaType> accepted =
+        new ArrayList<>(
+            contentNegotiationManager.resolveMediaTypes(new ServletWebRequest(request)));
+    MimeTypeUtils.sortBySpecificity(accepted);
+    for (MediaType acceptedType : accepted) {
+      if (acceptedType.getQualityValue() == 0) {
+        continue;
+      }
+      for (MediaType format : USER_FORMATS) {
+        if (acceptedType.isCompatibleWith(format)) {
+          return format;
+        }
+      }
+    }
+    throw new HttpMediaTypeNotAcceptableException(USER_FORMATS);
+  }
 }
@@ -15,6 +15,7 @@ public class UserDTO {
   private String username;
   private String email;
   private String password;
+  private int tokenVersion;
   private LocalDateTime createdAt;
   private LocalDateTime updatedAt;
 }
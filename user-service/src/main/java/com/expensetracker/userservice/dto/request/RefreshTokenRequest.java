@@ -0,0 +1,21 @@
+package com.expensetracker.userservice.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request carrying a refresh token")
+public class RefreshTokenRequest {
+
+  @Schema(
+      description = "Refresh token from the last login or refresh",
+      example = "kV2pS3q8mK6cF0xN9yZbT1rW4uE7hJ5aD2gL8oQ3vXs",
+      required = true)
+  @NotBlank(message = "Refresh token is required")
+  private String refreshToken;
+}
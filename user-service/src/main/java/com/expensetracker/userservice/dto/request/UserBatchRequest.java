@@ -0,0 +1,25 @@
+package com.expensetracker.userservice.dto.request;
+
+import java.util.List;
+import java.util.UUID;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request payload for looking up several users at once")
+public class UserBatchRequest {
+
+  @ArraySchema(
+      arraySchema = @Schema(description = "Identifiers of the users to look up", required = true),
+      schema = @Schema(example = "0196bfde-4e25-7061-b4a4-93e5ce8dbcc7"))
+  @NotEmpty(message = "At least one id is required")
+  private List<@NotNull(message = "Ids must not be null") UUID> ids;
+}
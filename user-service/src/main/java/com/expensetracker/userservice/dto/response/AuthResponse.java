@@ -20,13 +20,23 @@ public class AuthResponse {
   @Schema(description = "Token type", example = "Bearer")
   private String tokenType = "Bearer";
 
+  @Schema(description = "Access token lifetime in seconds", example = "900")
+  private long expiresIn;
+
+  @Schema(
+      description = "Opaque refresh token, exchanged once for a new token pair",
+      example = "kV2pS3q8mK6cF0xN9yZbT1rW4uE7hJ5aD2gL8oQ3vXs")
+  private String refreshToken;
+
   @Schema(description = "User details")
   private UserResponse user;
 
   @Builder
-  public AuthResponse(String token, UserResponse user) {
+  public AuthResponse(String token, long expiresIn, String refreshToken, UserResponse user) {
     this.token = token;
     this.tokenType = "Bearer";
+    this.expiresIn = expiresIn;
+    this.refreshToken = refreshToken;
     this.user = user;
   }
 }
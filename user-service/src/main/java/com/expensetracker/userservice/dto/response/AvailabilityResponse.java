@@ -0,0 +1,28 @@
+package com.expensetracker.userservice.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Availability of a username and/or email for registration")
+public class AvailabilityResponse {
+
+  @Schema(
+      description = "Whether the username is still available (absent if not requested)",
+      example = "true")
+  private Boolean usernameAvailable;
+
+  @Schema(
+      description = "Whether the email is still available (absent if not requested)",
+      example = "false")
+  private Boolean emailAvailable;
+}
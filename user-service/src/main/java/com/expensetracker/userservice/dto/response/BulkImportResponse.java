@@ -0,0 +1,29 @@
+package com.expensetracker.userservice.dto.response;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Per-row report of a bulk user import")
+public class BulkImportResponse {
+
+  @Schema(description = "Number of rows read", example = "3")
+  private int total;
+
+  @Schema(description = "Number of users created", example = "2")
+  private int imported;
+
+  @Schema(description = "Number of rows that were not imported", example = "1")
+  private int failed;
+
+  @Schema(description = "Outcome of every row, in input order")
+  private List<BulkImportRowResult> results;
+}
@@ -0,0 +1,48 @@
+package com.expensetracker.userservice.dto.response;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Outcome of a single row of a bulk user import")
+public class BulkImportRowResult {
+
+  public enum Status {
+    CREATED,
+    INVALID,
+    CONFLICT,
+    REJECTED
+  }
+
+  @Schema(description = "Position of the row in the import, starting at 1", example = "1")
+  private int row;
+
+  @Schema(description = "Username of the row, if it could be read", example = "jack12")
+  private String username;
+
+  @Schema(description = "Outcome of the row", example = "CREATED")
+  private Status status;
+
+  @Schema(
+      description = "Identifier of the created user",
+      example = "0196bfde-4e25-7061-b4a4-93e5ce8dbcc7")
+  private UUID id;
+
+  @ArraySchema(
+      arraySchema = @Schema(description = "Why the row was not imported"),
+      schema = @Schema(type = "string", example = "email: Email should be valid"))
+  private List<String> errors;
+}
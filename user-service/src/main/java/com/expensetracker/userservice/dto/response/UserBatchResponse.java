@@ -0,0 +1,20 @@
+package com.expensetracker.userservice.dto.response;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Users looked up in a batch, in request order")
+public class UserBatchResponse {
+
+  @Schema(description = "One result per requested identifier, in request order")
+  private List<UserLookupResult> results;
+}
@@ -0,0 +1,28 @@
+package com.expensetracker.userservice.dto.response;
+
+import java.util.UUID;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Result of looking up a single user in a batch")
+public class UserLookupResult {
+
+  @Schema(
+      description = "Identifier that was looked up",
+      example = "0196bfde-4e25-7061-b4a4-93e5ce8dbcc7")
+  private UUID id;
+
+  @Schema(description = "Whether a user exists with this identifier", example = "true")
+  private boolean found;
+
+  @Schema(description = "User details, null when the user was not found")
+  private UserResponse user;
+}
@@ -0,0 +1,53 @@
+package com.expensetracker.userservice.entity;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.hibernate.annotations.GenericGenerator;
+
+import com.expensetracker.common.id.UUIDv7IdentifierGenerator;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * A refresh token, stored only as its SHA-256 hash. Each use consumes the token and issues its
+ * successor in the same family; consumed tokens are kept until the family expires so a replayed
+ * token can be detected and the whole family revoked.
+ */
+@Entity
+@Table(
+    name = "refresh_tokens",
+    uniqueConstraints =
+        @UniqueConstraint(name = "uk_refresh_tokens_token_hash", columnNames = "token_hash"),
+    indexes = {
+      @Index(name = "idx_refresh_tokens_family_id", columnList = "family_id"),
+      @Index(name = "idx_refresh_tokens_user_id", columnList = "user_id"),
+      @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at")
+    })
+@Getter
+@Setter
+public class RefreshToken {
+
+  @Id
+  @GeneratedValue(generator = "UUID-V7")
+  @GenericGenerator(name = "UUID-V7", type = UUIDv7IdentifierGenerator.class)
+  @Column(name = "id", updatable = false, nullable = false, columnDefinition = "UUID")
+  private UUID id;
+
+  @Column(name = "token_hash", nullable = false, updatable = false)
+  private String tokenHash;
+
+  @Column(name = "user_id", nullable = false, updatable = false)
+  private UUID userId;
+
+  @Column(name = "family_id", nullable = false, updatable = false)
+  private UUID familyId;
+
+  @Column(name = "expires_at", nullable = false, updatable = false)
+  private Instant expiresAt;
+
+  @Column(name = "consumed_at")
+  private Instant consumedAt;
+}
@@ -0,0 +1,31 @@
+package com.expensetracker.userservice.entity;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/** A revoked access token, shared with other instances until the token expires */
+@Entity
+@Table(
+    name = "revoked_tokens",
+    indexes = {
+      @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revoked_at"),
+      @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at")
+    })
+@Getter
+@Setter
+public class RevokedToken {
+
+  @Id
+  @Column(name = "jti", updatable = false, nullable = false, columnDefinition = "UUID")
+  private UUID jti;
+
+  @Column(name = "expires_at", nullable = false)
+  private Instant expiresAt;
+
+  @Column(name = "revoked_at", nullable = false)
+  private Instant revokedAt;
+}
@@ -0,0 +1,28 @@
+package com.expensetracker.userservice.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/** A JWT signing key pair shared by all instances; the private key is stored encrypted */
+@Entity
+@Table(name = "signing_keys")
+@Getter
+@Setter
+public class SigningKey {
+
+  @Id
+  @Column(name = "kid", nullable = false, updatable = false)
+  private String kid;
+
+  @Column(name = "public_key", nullable = false)
+  private byte[] publicKey;
+
+  @Column(name = "encrypted_private_key", nullable = false)
+  private byte[] encryptedPrivateKey;
+
+  @Column(name = "created_at", nullable = false)
+  private Instant createdAt;
+}
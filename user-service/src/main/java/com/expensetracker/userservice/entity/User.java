@@ -3,34 +3,61 @@ package com.expensetracker.userservice.entity;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
+import com.expensetracker.common.id.UUIDv7IdentifierGenerator;
 
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 
 @Entity
-@Table(name = "users")
+@Table(
+    name = "users",
+    uniqueConstraints =
+        @UniqueConstraint(name = User.USERNAME_CONSTRAINT, columnNames = "username"))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
+@NaturalIdCache(region = User.NATURAL_ID_CACHE_REGION)
 @Getter
 @Setter
 public class User {
+  // The schema is defined by the Flyway migrations, which also add the case-insensitive indexes
+  public static final String USERNAME_CONSTRAINT = "uk_users_username";
+  public static final String USERNAME_CI_CONSTRAINT = "uk_users_username_ci";
+  public static final String EMAIL_CONSTRAINT = "uk_users_email_ci";
+  public static final String CACHE_REGION = "user";
+  public static final String NATURAL_ID_CACHE_REGION = "user-natural-id";
+
   @Id
   @GeneratedValue(generator = "UUID-V7")
-  @GenericGenerator(
-      name = "UUID-V7",
-      type = com.expensetracker.userservice.util.UUIDv7Generator.class)
+  @GenericGenerator(name = "UUID-V7", type = UUIDv7IdentifierGenerator.class)
   @Column(name = "id", updatable = false, nullable = false, columnDefinition = "UUID")
   private UUID id;
 
-  @Column(nullable = false, unique = true)
+  @NaturalId
+  @Column(nullable = false)
   private String username;
 
-  @Column(nullable = false, unique = true)
+  @Column(nullable = false)
   private String email;
 
   @Column(nullable = false)
   private String password;
 
+  @ColumnDefault("0")
+  @Column(name = "token_version", nullable = false)
+  private int tokenVersion;
+
+  @Version
+  @ColumnDefault("0")
+  @Column(nullable = false)
+  private long version;
+
   @Column(name = "created_at")
   private LocalDateTime createdAt;
 
@@ -0,0 +1,13 @@
+package com.expensetracker.userservice.exception;
+
+/**
+ * Base of the exceptions GlobalExceptionHandler turns into error responses. They signal expected
+ * outcomes such as an unknown id or a taken username, so they skip the stack trace: filling it in
+ * cost more than the rest of the error response, and nothing reads it.
+ */
+public abstract class DomainException extends RuntimeException {
+
+  protected DomainException(String message) {
+    super(message, null, false, false);
+  }
+}
@@ -7,8 +7,10 @@ import java.util.List;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -17,14 +19,33 @@ import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 import com.expensetracker.userservice.dto.response.ErrorResponse;
+import com.expensetracker.userservice.util.ErrorResponseTemplate;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.servlet.http.HttpServletRequest;
 
 @ControllerAdvice
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
+  // Bodies for the frequent errors are pre-serialized; only the timestamp, message and path vary
+  private final ErrorResponseTemplate conflict;
+  private final ErrorResponseTemplate notFound;
+  private final ErrorResponseTemplate unauthorized;
+  private final ErrorResponseTemplate tooManyRequests;
+  private final ErrorResponseTemplate serviceUnavailable;
+  private final ErrorResponseTemplate internalServerError;
+
+  public GlobalExceptionHandler(ObjectMapper objectMapper) {
+    conflict = ErrorResponseTemplate.of(objectMapper, HttpStatus.CONFLICT);
+    notFound = ErrorResponseTemplate.of(objectMapper, HttpStatus.NOT_FOUND);
+    unauthorized = ErrorResponseTemplate.of(objectMapper, HttpStatus.UNAUTHORIZED);
+    tooManyRequests = ErrorResponseTemplate.of(objectMapper, HttpStatus.TOO_MANY_REQUESTS);
+    serviceUnavailable = ErrorResponseTemplate.of(objectMapper, HttpStatus.SERVICE_UNAVAILABLE);
+    internalServerError = ErrorResponseTemplate.of(objectMapper, HttpStatus.INTERNAL_SERVER_ERROR);
+  }
+
   @Override
   protected ResponseEntity<Object> handleHttpMessageNotReadable(
       HttpMessageNotReadableException ex,
@@ -80,15 +101,64 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
   }
 
   @ExceptionHandler(ResourceAlreadyExistsException.class)
-  public ResponseEntity<ErrorResponse> handleResourceAlreadyExists(
+  public ResponseEntity<byte[]> handleResourceAlreadyExists(
       ResourceAlreadyExistsException ex, HttpServletRequest request) {
-    return buildErrorResponse(ex, HttpStatus.CONFLICT, "Conflict", request.getRequestURI());
+    return buildErrorResponse(conflict, ex, request);
   }
 
   @ExceptionHandler(ResourceNotFoundException.class)
-  public ResponseEntity<ErrorResponse> handleResourceNotFound(
+  public ResponseEntity<byte[]> handleResourceNotFound(
       ResourceNotFoundException ex, HttpServletRequest request) {
-    return buildErrorResponse(ex, HttpStatus.NOT_FOUND, "Not Found", request.getRequestURI());
+    return buildErrorResponse(notFound, ex, request);
+  }
+
+  @ExceptionHandler(ValidationException.class)
+  public ResponseEntity<ErrorResponse> handleValidation(
+      ValidationException ex, HttpServletRequest request) {
+    ErrorResponse errorResponse =
+        ErrorResponse.builder()
+            .timestamp(LocalDateTime.now())
+            .status(HttpStatus.BAD_REQUEST.value())
+            .error("Bad Request")
+            .message(ex.getMessage())
+            .path(request.getRequestURI())
+            .details(ex.getErrors())
+            .build();
+
+    return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+  }
+
+  @ExceptionHandler(InvalidTokenException.class)
+  public ResponseEntity<byte[]> handleInvalidToken(
+      InvalidTokenException ex, HttpServletRequest request) {
+    return buildErrorResponse(unauthorized, ex, request);
+  }
+
+  @ExceptionHandler(BadCredentialsException.class)
+  public ResponseEntity<byte[]> handleBadCredentials(
+      BadCredentialsException ex, HttpServletRequest request) {
+    return buildErrorResponse(unauthorized, ex, request);
+  }
+
+  @ExceptionHandler(TooManyRequestsException.class)
+  public ResponseEntity<byte[]> handleTooManyRequests(
+      TooManyRequestsException ex, HttpServletRequest request) {
+    ResponseEntity<byte[]> response = buildErrorResponse(tooManyRequests, ex, request);
+    return ResponseEntity.status(response.getStatusCode())
+        .headers(response.getHeaders())
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+        .body(response.getBody());
+  }
+
+  @ExceptionHandler(ServiceOverloadedException.class)
+  public ResponseEntity<byte[]> handleServiceOverloaded(
+      ServiceOverloadedException ex, HttpServletRequest request) {
+    ResponseEntity<byte[]> response = buildErrorResponse(serviceUnavailable, ex, request);
+    // Ask clients to back off briefly before retrying
+    return ResponseEntity.status(response.getStatusCode())
+        .headers(response.getHeaders())
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .body(response.getBody());
   }
 
   @Override
@@ -137,24 +207,14 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
   // Generic exception handler for unexpected errors
   @ExceptionHandler(Exception.class)
-  public ResponseEntity<ErrorResponse> handleGenericException(
-      Exception ex, HttpServletRequest request) {
-    return buildErrorResponse(
-        ex, HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error", request.getRequestURI());
+  public ResponseEntity<byte[]> handleGenericException(Exception ex, HttpServletRequest request) {
+    return buildErrorResponse(internalServerError, ex, request);
   }
 
-  private ResponseEntity<ErrorResponse> buildErrorResponse(
-      Exception ex, HttpStatus status, String error, String path) {
-
-    ErrorResponse errorResponse =
-        ErrorResponse.builder()
-            .timestamp(LocalDateTime.now())
-            .status(status.value())
-            .error(error)
-            .message(ex.getMessage())
-            .path(path)
-            .build();
-
-    return new ResponseEntity<>(errorResponse, status);
+  private ResponseEntity<byte[]> buildErrorResponse(
+      ErrorResponseTemplate template, Exception ex, HttpServletRequest request) {
+    return ResponseEntity.status(template.getStatus())
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(template.render(ex.getMessage(), request.getRequestURI()));
   }
 }
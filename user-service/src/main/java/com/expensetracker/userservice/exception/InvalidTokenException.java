@@ -0,0 +1,7 @@
+package com.expensetracker.userservice.exception;
+
+public class InvalidTokenException extends DomainException {
+  public InvalidTokenException(String message) {
+    super(message);
+  }
+}
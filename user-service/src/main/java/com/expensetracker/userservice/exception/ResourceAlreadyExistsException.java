@@ -1,6 +1,6 @@
 package com.expensetracker.userservice.exception;
 
-public class ResourceAlreadyExistsException extends RuntimeException {
+public class ResourceAlreadyExistsException extends DomainException {
   public ResourceAlreadyExistsException(String message) {
     super(message);
   }
@@ -0,0 +1,7 @@
+package com.expensetracker.userservice.exception;
+
+public class ServiceOverloadedException extends DomainException {
+  public ServiceOverloadedException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,13 @@
+package com.expensetracker.userservice.exception;
+
+import lombok.Getter;
+
+@Getter
+public class TooManyRequestsException extends DomainException {
+  private final long retryAfterSeconds;
+
+  public TooManyRequestsException(String message, long retryAfterSeconds) {
+    super(message);
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+}
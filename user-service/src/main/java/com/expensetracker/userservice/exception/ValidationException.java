@@ -5,7 +5,7 @@ import java.util.List;
 import lombok.Getter;
 
 @Getter
-public class ValidationException extends RuntimeException {
+public class ValidationException extends DomainException {
   private final List<String> errors;
 
   public ValidationException(String message, List<String> errors) {
@@ -0,0 +1,35 @@
+package com.expensetracker.userservice.repository;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.expensetracker.userservice.entity.RefreshToken;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
+  Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+  /** Consume a token; returns 0 if it was already consumed, e.g. by a concurrent request */
+  @Modifying
+  @Query("update RefreshToken t set t.consumedAt = :now where t.id = :id and t.consumedAt is null")
+  int markConsumed(@Param("id") UUID id, @Param("now") Instant now);
+
+  @Modifying
+  @Query("delete from RefreshToken t where t.familyId = :familyId")
+  int deleteByFamilyId(@Param("familyId") UUID familyId);
+
+  @Modifying
+  @Query("delete from RefreshToken t where t.userId = :userId")
+  int deleteByUserId(@Param("userId") UUID userId);
+
+  @Modifying
+  @Query("delete from RefreshToken t where t.expiresAt < :now")
+  int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,13 @@
+package com.expensetracker.userservice.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.expensetracker.userservice.entity.SigningKey;
+
+@Repository
+public interface SigningKeyRepository extends JpaRepository<SigningKey, String> {
+  List<SigningKey> findAllByOrderByCreatedAtDesc();
+}
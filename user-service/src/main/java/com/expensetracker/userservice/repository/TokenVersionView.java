@@ -0,0 +1,13 @@
+package com.expensetracker.userservice.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/** Projection used to refresh the in-memory token version table */
+public interface TokenVersionView {
+  UUID getId();
+
+  int getTokenVersion();
+
+  LocalDateTime getUpdatedAt();
+}
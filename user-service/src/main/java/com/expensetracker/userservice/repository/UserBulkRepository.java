@@ -0,0 +1,104 @@
+package com.expensetracker.userservice.repository;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.expensetracker.userservice.entity.User;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Multi-row inserts for bulk imports. Each chunk is written with a single INSERT ... SELECT FROM
+ * unnest(...) statement, so a chunk of users costs one round trip instead of one per user.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserBulkRepository {
+
+  private static final String INSERT_USERS =
+      """
+      INSERT INTO users (id, username, email, password, token_version, created_at, updated_at)
+      SELECT t.id, t.username, t.email, t.password, 0, ?, ?
+      FROM unnest(?::uuid[], ?::varchar[], ?::varchar[], ?::varchar[])
+          AS t(id, username, email, password)
+      ON CONFLICT DO NOTHING
+      RETURNING id
+      """;
+
+  static final String SELECT_TAKEN =
+      """
+      SELECT username, email FROM users
+      WHERE lower(username) = ANY(?::varchar[]) OR lower(email) = ANY(?::varchar[])
+      """;
+
+  private static final UnaryOperator<String> LOWER_CASE = value -> value.toLowerCase(Locale.ROOT);
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Insert users whose ids were allocated up front and return the ids that were written. Rows that
+   * collide with an existing username or email are skipped.
+   */
+  public Set<UUID> insertAll(List<User> users) {
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    Set<UUID> inserted = new HashSet<>();
+    jdbcTemplate.query(
+        connection -> {
+          PreparedStatement statement = connection.prepareStatement(INSERT_USERS);
+          statement.setTimestamp(1, now);
+          statement.setTimestamp(2, now);
+          statement.setArray(3, array(connection, "uuid", users.stream().map(User::getId)));
+          statement.setArray(
+              4, array(connection, "varchar", users.stream().map(User::getUsername)));
+          statement.setArray(5, array(connection, "varchar", users.stream().map(User::getEmail)));
+          statement.setArray(
+              6, array(connection, "varchar", users.stream().map(User::getPassword)));
+          return statement;
+        },
+        resultSet -> {
+          inserted.add(resultSet.getObject(1, UUID.class));
+        });
+    return inserted;
+  }
+
+  /**
+   * Find the users holding any of the given usernames or emails, ignoring case like the unique
+   * indexes do, in a single query
+   */
+  public List<User> findByUsernameInOrEmailIn(
+      Collection<String> usernames, Collection<String> emails) {
+    return jdbcTemplate.query(
+        connection -> {
+          PreparedStatement statement = connection.prepareStatement(SELECT_TAKEN);
+          statement.setArray(1, array(connection, "varchar", usernames.stream().map(LOWER_CASE)));
+          statement.setArray(2, array(connection, "varchar", emails.stream().map(LOWER_CASE)));
+          return statement;
+        },
+        (resultSet, rowNum) -> {
+          User user = new User();
+          user.setUsername(resultSet.getString("username"));
+          user.setEmail(resultSet.getString("email"));
+          return user;
+        });
+  }
+
+  private static Array array(Connection connection, String type, Stream<?> values)
+      throws SQLException {
+    return connection.createArrayOf(type, values.toArray());
+  }
+}
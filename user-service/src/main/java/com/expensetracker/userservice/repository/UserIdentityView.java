@@ -0,0 +1,12 @@
+package com.expensetracker.userservice.repository;
+
+import java.time.LocalDateTime;
+
+/** Projection used to fill the username and email availability filters */
+public interface UserIdentityView {
+  String getUsername();
+
+  String getEmail();
+
+  LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,11 @@
+package com.expensetracker.userservice.repository;
+
+import java.util.Optional;
+
+import com.expensetracker.userservice.entity.User;
+
+/** Username lookups resolved through Hibernate's natural-id API rather than a JPQL query */
+public interface UserNaturalIdRepository {
+
+  Optional<User> findByUsername(String username);
+}
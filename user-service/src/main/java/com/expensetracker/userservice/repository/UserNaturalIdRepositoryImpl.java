@@ -0,0 +1,28 @@
+package com.expensetracker.userservice.repository;
+
+import java.util.Optional;
+
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.expensetracker.userservice.entity.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Resolves usernames with {@link Session#bySimpleNaturalId}, which consults the natural-id cache
+ * for the user's id and then the entity cache for its state. A repeated lookup is served from
+ * memory; only misses reach the database. Hibernate keeps both caches in step with updates it
+ * flushes.
+ */
+public class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+
+  @PersistenceContext private EntityManager entityManager;
+
+  @Override
+  @Transactional(readOnly = true)
+  public Optional<User> findByUsername(String username) {
+    return entityManager.unwrap(Session.class).bySimpleNaturalId(User.class).loadOptional(username);
+  }
+}
@@ -1,28 +1,95 @@
 package com.expensetracker.userservice.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.expensetracker.userservice.entity.User;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface UserRepository extends JpaRepository<User, UUID> {
-  Optional<User> findByUsername(String username);
+public interface UserRepository extends JpaRepository<User, UUID>, UserNaturalIdRepository {
+  // Emails, and usernames apart from the exact natural-id lookup, are matched ignoring case like
+  // the unique indexes on lower(username) and lower(email). Declared queries do not inherit the
+  // read-only transaction of the built-in methods, so reads that may go to a replica say so here.
 
-  Optional<User> findByEmail(String email);
+  @Transactional(readOnly = true)
+  @Query("select u from User u where lower(u.email) = lower(:email)")
+  Optional<User> findByEmail(@Param("email") String email);
 
   Optional<User> findById(UUID id);
 
-  Optional<User> findByUsernameOrEmail(String username, String email);
+  @Transactional(readOnly = true)
+  @Query(
+      "select u from User u"
+          + " where lower(u.username) = lower(:username) or lower(u.email) = lower(:email)")
+  Optional<User> findByUsernameOrEmail(
+      @Param("username") String username, @Param("email") String email);
 
-  boolean existsByUsername(String username);
+  @Transactional(readOnly = true)
+  @Query("select count(u) > 0 from User u where lower(u.username) = lower(:username)")
+  boolean existsByUsername(@Param("username") String username);
 
-  boolean existsByEmail(String email);
+  @Transactional(readOnly = true)
+  @Query("select count(u) > 0 from User u where lower(u.email) = lower(:email)")
+  boolean existsByEmail(@Param("email") String email);
 
   boolean existsById(UUID id);
 
-  boolean existsByUsernameOrEmail(String username, String email);
+  @Transactional(readOnly = true)
+  @Query(
+      "select count(u) > 0 from User u"
+          + " where lower(u.username) = lower(:username) or lower(u.email) = lower(:email)")
+  boolean existsByUsernameOrEmail(@Param("username") String username, @Param("email") String email);
+
+  /**
+   * Users that revoked their tokens, matching the partial index on token_version > 0. Read from the
+   * primary: a replica behind the watermark would have revocations skipped for good.
+   */
+  @Query(
+      "select u.id as id, u.tokenVersion as tokenVersion, u.updatedAt as updatedAt from User u"
+          + " where u.tokenVersion > 0 and u.updatedAt > :updatedAt")
+  List<TokenVersionView> findRevokedUpdatedAfter(@Param("updatedAt") LocalDateTime updatedAt);
+
+  Stream<UserIdentityView> findByCreatedAtAfterOrderByCreatedAt(LocalDateTime createdAt);
+
+  // Writes that must not start from a cached copy: the second-level cache of another instance can
+  // be minutes behind, and saving an entity writes every column back
+
+  /** Username lookup that reads the row, not the second-level cache */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "REFRESH"))
+  @Query("select u from User u where u.username = :username")
+  Optional<User> findByUsernameUncached(@Param("username") String username);
+
+  /** Raise the token version in the row itself, so concurrent bumps are never lost */
+  @Transactional
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+      "update User u set u.tokenVersion = u.tokenVersion + 1, u.version = u.version + 1,"
+          + " u.updatedAt = :now where u.username = :username")
+  int incrementTokenVersion(@Param("username") String username, @Param("now") LocalDateTime now);
+
+  /** Replace a password hash; returns 0 if it is no longer the hash the caller verified */
+  @Transactional
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+      "update User u set u.password = :password, u.version = u.version + 1, u.updatedAt = :now"
+          + " where u.id = :id and u.password = :verifiedPassword")
+  int updatePassword(
+      @Param("id") UUID id,
+      @Param("verifiedPassword") String verifiedPassword,
+      @Param("password") String password,
+      @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,124 @@
+package com.expensetracker.userservice.service;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.expensetracker.userservice.exception.TooManyRequestsException;
+import com.expensetracker.userservice.util.TokenBucket;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Throttles login attempts per username and per client IP before any password hashing or database
+ * access. Buckets live in size-bounded Caffeine tables that drop idle keys, so memory stays flat
+ * however many distinct usernames or addresses an attacker cycles through. The tables are hash
+ * striped and the buckets lock-free, so throttling adds no contention to the login path.
+ */
+@Service
+public class LoginThrottleService {
+
+  private final Cache<String, TokenBucket> usernameBuckets;
+  private final Cache<String, TokenBucket> clientIpBuckets;
+  private final long usernameCapacity;
+  private final double usernameRefillPerSecond;
+  private final long clientIpCapacity;
+  private final double clientIpRefillPerSecond;
+  private final int usernameFreeFailures;
+  private final int clientIpFreeFailures;
+  private final long backoffBaseMs;
+  private final long backoffMaxMs;
+
+  public LoginThrottleService(
+      @Value("${app.security.login-throttle.max-keys:100000}") long maxKeys,
+      @Value("${app.security.login-throttle.idle-expiry:15m}") Duration idleExpiry,
+      @Value("${app.security.login-throttle.username.capacity:5}") long usernameCapacity,
+      @Value("${app.security.login-throttle.username.refill-per-second:0.1}")
+          double usernameRefillPerSecond,
+      @Value("${app.security.login-throttle.client-ip.capacity:20}") long clientIpCapacity,
+      @Value("${app.security.login-throttle.client-ip.refill-per-second:1}")
+          double clientIpRefillPerSecond,
+      @Value("${app.security.login-throttle.username.free-failures:3}") int usernameFreeFailures,
+      @Value("${app.security.login-throttle.client-ip.free-failures:20}") int clientIpFreeFailures,
+      @Value("${app.security.login-throttle.backoff.base-ms:1000}") long backoffBaseMs,
+      @Value("${app.security.login-throttle.backoff.max-ms:900000}") long backoffMaxMs) {
+    this.usernameBuckets =
+        Caffeine.newBuilder().maximumSize(maxKeys).expireAfterAccess(idleExpiry).build();
+    this.clientIpBuckets =
+        Caffeine.newBuilder().maximumSize(maxKeys).expireAfterAccess(idleExpiry).build();
+    this.usernameCapacity = usernameCapacity;
+    this.usernameRefillPerSecond = usernameRefillPerSecond;
+    this.clientIpCapacity = clientIpCapacity;
+    this.clientIpRefillPerSecond = clientIpRefillPerSecond;
+    this.usernameFreeFailures = usernameFreeFailures;
+    this.clientIpFreeFailures = clientIpFreeFailures;
+    this.backoffBaseMs = backoffBaseMs;
+    this.backoffMaxMs = backoffMaxMs;
+  }
+
+  /** Take a login attempt from both buckets, or reject it with the time to wait */
+  public void acquire(String username, String clientIp) {
+    long now = System.currentTimeMillis();
+    TokenBucket usernameBucket = usernameBucket(username, now);
+    TokenBucket clientIpBucket = clientIpBucket(clientIp, now);
+
+    long backoff =
+        Math.max(usernameBucket.backoffRemaining(now), clientIpBucket.backoffRemaining(now));
+    if (backoff > 0) {
+      throw tooManyRequests("Too many failed login attempts", backoff);
+    }
+
+    long wait = clientIpBucket.tryAcquire(now);
+    if (wait == 0) {
+      wait = usernameBucket.tryAcquire(now);
+    }
+    if (wait > 0) {
+      throw tooManyRequests("Too many login attempts", wait);
+    }
+  }
+
+  public void recordFailure(String username, String clientIp) {
+    long now = System.currentTimeMillis();
+    usernameBucket(username, now)
+        .recordFailure(now, usernameFreeFailures, backoffBaseMs, backoffMaxMs);
+    // Many users can share an address, so it gets more slack before backing off
+    clientIpBucket(clientIp, now)
+        .recordFailure(now, clientIpFreeFailures, backoffBaseMs, backoffMaxMs);
+  }
+
+  public void recordSuccess(String username, String clientIp) {
+    TokenBucket usernameBucket = usernameBuckets.getIfPresent(username);
+    if (usernameBucket != null) {
+      usernameBucket.recordSuccess();
+    }
+    TokenBucket clientIpBucket = clientIpBuckets.getIfPresent(clientIp);
+    if (clientIpBucket != null) {
+      clientIpBucket.recordSuccess();
+    }
+  }
+
+  // Look up first, so the common hit path never takes the table's per-bin lock
+  private TokenBucket usernameBucket(String username, long now) {
+    TokenBucket bucket = usernameBuckets.getIfPresent(username);
+    return bucket != null
+        ? bucket
+        : usernameBuckets.get(
+            username, key -> new TokenBucket(usernameCapacity, usernameRefillPerSecond, now));
+  }
+
+  private TokenBucket clientIpBucket(String clientIp, long now) {
+    TokenBucket bucket = clientIpBuckets.getIfPresent(clientIp);
+    return bucket != null
+        ? bucket
+        : clientIpBuckets.get(
+            clientIp, key -> new TokenBucket(clientIpCapacity, clientIpRefillPerSecond, now));
+  }
+
+  private static TooManyRequestsException tooManyRequests(String message, long waitMs) {
+    return new TooManyRequestsException(
+        message + ", please try again later",
+        Math.max(1, TimeUnit.MILLISECONDS.toSeconds(waitMs + 999)));
+  }
+}
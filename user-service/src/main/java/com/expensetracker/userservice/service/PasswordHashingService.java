@@ -0,0 +1,182 @@
+package com.expensetracker.userservice.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.expensetracker.userservice.exception.ServiceOverloadedException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Runs password hashing and verification on a dedicated, bounded pool so that bursts of logins and
+ * registrations cannot take every request thread. When the queue is full, callers fail fast with a
+ * {@link ServiceOverloadedException} instead of waiting.
+ */
+@Service
+public class PasswordHashingService implements DisposableBean {
+
+  private final PasswordEncoder passwordEncoder;
+  private final ThreadPoolExecutor executor;
+  private final long timeoutMs;
+
+  private final Timer waitTimer;
+  private final Timer hashTimer;
+  private final Counter rejectedCounter;
+
+  public PasswordHashingService(
+      PasswordEncoder passwordEncoder,
+      MeterRegistry meterRegistry,
+      @Value("${app.security.hashing.pool-size:0}") int poolSize,
+      @Value("${app.security.hashing.queue-capacity:64}") int queueCapacity,
+      @Value("${app.security.hashing.timeout-ms:5000}") long timeoutMs) {
+    this.passwordEncoder = passwordEncoder;
+    this.timeoutMs = timeoutMs;
+
+    // Hashing is CPU bound, so more threads than cores only adds contention
+    int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+    AtomicInteger threadNumber = new AtomicInteger();
+    this.executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+              Thread thread =
+                  new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+
+    Gauge.builder("password.hashing.queue.depth", executor, e -> e.getQueue().size())
+        .description("Password hashing tasks waiting for a thread")
+        .register(meterRegistry);
+    Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+        .description("Password hashing tasks currently running")
+        .register(meterRegistry);
+    this.waitTimer =
+        Timer.builder("password.hashing.wait")
+            .description("Time password hashing tasks spend queued")
+            .register(meterRegistry);
+    this.hashTimer =
+        Timer.builder("password.hashing.duration")
+            .description("Time spent hashing or verifying a password")
+            .register(meterRegistry);
+    this.rejectedCounter =
+        Counter.builder("password.hashing.rejected")
+            .description("Password hashing tasks shed because the queue was full")
+            .register(meterRegistry);
+  }
+
+  public String encode(String rawPassword) {
+    return execute(() -> passwordEncoder.encode(rawPassword));
+  }
+
+  public boolean matches(String rawPassword, String encodedPassword) {
+    return execute(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+  }
+
+  /**
+   * Hash many passwords in parallel for bulk imports. At most half of the pool is used so logins
+   * keep running. If the queue cannot take every slice the import is shed with a {@link
+   * ServiceOverloadedException}, rather than hashing on the calling thread outside the pool.
+   */
+  public List<String> encodeAll(List<String> rawPasswords) {
+    String[] encoded = new String[rawPasswords.size()];
+    int slices = Math.min(Math.max(1, executor.getMaximumPoolSize() / 2), encoded.length);
+    List<Future<?>> futures = new ArrayList<>();
+
+    for (int slice = 0; slice < slices; slice++) {
+      int from = slice * encoded.length / slices;
+      int to = (slice + 1) * encoded.length / slices;
+      Runnable work =
+          () -> {
+            for (int i = from; i < to && !Thread.currentThread().isInterrupted(); i++) {
+              String rawPassword = rawPasswords.get(i);
+              encoded[i] = hashTimer.record(() -> passwordEncoder.encode(rawPassword));
+            }
+          };
+      try {
+        futures.add(executor.submit(work));
+      } catch (RejectedExecutionException ex) {
+        futures.forEach(future -> future.cancel(true));
+        rejectedCounter.increment();
+        throw new ServiceOverloadedException("Too many authentication requests, try again later");
+      }
+    }
+
+    for (Future<?> future : futures) {
+      try {
+        future.get();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting for password hashing", ex);
+      } catch (ExecutionException ex) {
+        throw new IllegalStateException("Password hashing failed", ex.getCause());
+      }
+    }
+    return Arrays.asList(encoded);
+  }
+
+  /** Whether a stored hash uses an outdated algorithm or cost, checked without hashing */
+  public boolean upgradeEncoding(String encodedPassword) {
+    return passwordEncoder.upgradeEncoding(encodedPassword);
+  }
+
+  private <T> T execute(Callable<T> task) {
+    long submittedAt = System.nanoTime();
+    Future<T> future;
+    try {
+      future =
+          executor.submit(
+              () -> {
+                waitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return hashTimer.recordCallable(task);
+              });
+    } catch (RejectedExecutionException ex) {
+      rejectedCounter.increment();
+      throw new ServiceOverloadedException("Too many authentication requests, try again later");
+    }
+
+    try {
+      return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException ex) {
+      future.cancel(true);
+      throw new ServiceOverloadedException("Too many authentication requests, try again later");
+    } catch (InterruptedException ex) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for password hashing", ex);
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException("Password hashing failed", ex.getCause());
+    }
+  }
+
+  @Override
+  public void destroy() {
+    executor.shutdown();
+  }
+}
@@ -0,0 +1,116 @@
+package com.expensetracker.userservice.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.expensetracker.common.id.UUIDv7Generator;
+import com.expensetracker.userservice.entity.RefreshToken;
+import com.expensetracker.userservice.exception.InvalidTokenException;
+import com.expensetracker.userservice.repository.RefreshTokenRepository;
+
+/**
+ * Issues and rotates opaque refresh tokens. Tokens are 256 random bits, so a single SHA-256 is
+ * enough to store them safely and a refresh never runs BCrypt. A login starts a token family that
+ * keeps its original expiry through every rotation.
+ */
+@Service
+public class RefreshTokenService {
+
+  private static final int TOKEN_BYTES = 32;
+
+  private final RefreshTokenRepository refreshTokenRepository;
+  private final Duration refreshTokenLifetime;
+  private final SecureRandom secureRandom = new SecureRandom();
+
+  public RefreshTokenService(
+      RefreshTokenRepository refreshTokenRepository,
+      @Value("${app.jwt.refresh.expiration-ms}") long refreshTokenLifetimeMs) {
+    this.refreshTokenRepository = refreshTokenRepository;
+    this.refreshTokenLifetime = Duration.ofMillis(refreshTokenLifetimeMs);
+  }
+
+  /** Start a new token family for a login */
+  @Transactional
+  public String issue(UUID userId) {
+    return create(userId, UUIDv7Generator.nextId(), Instant.now().plus(refreshTokenLifetime));
+  }
+
+  /** Consume a refresh token and issue its successor */
+  @Transactional(noRollbackFor = InvalidTokenException.class)
+  public Rotation rotate(String token) {
+    RefreshToken current =
+        refreshTokenRepository
+            .findByTokenHash(hash(token))
+            .orElseThrow(() -> new InvalidTokenException("Invalid refresh token"));
+
+    Instant now = Instant.now();
+    if (current.getExpiresAt().isBefore(now)) {
+      throw new InvalidTokenException("Refresh token has expired");
+    }
+    if (refreshTokenRepository.markConsumed(current.getId(), now) == 0) {
+      // A consumed token came back, so it leaked: end the whole session
+      refreshTokenRepository.deleteByFamilyId(current.getFamilyId());
+      throw new InvalidTokenException("Refresh token has already been used");
+    }
+
+    String next = create(current.getUserId(), current.getFamilyId(), current.getExpiresAt());
+    return new Rotation(current.getUserId(), next);
+  }
+
+  /** Revoke the session a refresh token belongs to; unknown tokens are ignored */
+  @Transactional
+  public void revokeFamily(String token) {
+    refreshTokenRepository
+        .findByTokenHash(hash(token))
+        .ifPresent(current -> refreshTokenRepository.deleteByFamilyId(current.getFamilyId()));
+  }
+
+  @Transactional
+  public void revokeAll(UUID userId) {
+    refreshTokenRepository.deleteByUserId(userId);
+  }
+
+  @Transactional
+  @Scheduled(fixedDelayString = "${app.jwt.refresh.cleanup-interval-ms:3600000}")
+  public void deleteExpired() {
+    refreshTokenRepository.deleteExpired(Instant.now());
+  }
+
+  private String create(UUID userId, UUID familyId, Instant expiresAt) {
+    byte[] bytes = new byte[TOKEN_BYTES];
+    secureRandom.nextBytes(bytes);
+    String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+    RefreshToken refreshToken = new RefreshToken();
+    refreshToken.setTokenHash(hash(token));
+    refreshToken.setUserId(userId);
+    refreshToken.setFamilyId(familyId);
+    refreshToken.setExpiresAt(expiresAt);
+    refreshTokenRepository.save(refreshToken);
+    return token;
+  }
+
+  private static String hash(String token) {
+    try {
+      byte[] digest =
+          MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 is not available", ex);
+    }
+  }
+
+  /** The owner of a consumed refresh token and the token that replaces it */
+  public record Rotation(UUID userId, String refreshToken) {}
+}
@@ -0,0 +1,158 @@
+package com.expensetracker.userservice.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.expensetracker.userservice.entity.SigningKey;
+import com.expensetracker.userservice.repository.SigningKeyRepository;
+import com.expensetracker.userservice.util.JwtKeyRing;
+import com.expensetracker.userservice.util.JwtSigningKey;
+import com.expensetracker.userservice.util.ReplicaRoutingDataSource;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Keeps the {@link JwtKeyRing} in sync with the signing_keys table. A new key is added once the
+ * newest one is older than the rotation interval, and a key is deleted once every token it could
+ * have signed has expired. Every instance runs the same pass, so keys created elsewhere are loaded
+ * well within their activation delay as long as the refresh interval is shorter.
+ */
+@Service
+public class SigningKeyService {
+
+  private static final int GCM_IV_BYTES = 12;
+  private static final int GCM_TAG_BITS = 128;
+
+  private final SigningKeyRepository signingKeyRepository;
+  private final JwtKeyRing keyRing;
+  private final Duration rotationInterval;
+  private final Duration tokenLifetime;
+  private final SecretKeySpec encryptionKey;
+  private final SecureRandom secureRandom = new SecureRandom();
+
+  public SigningKeyService(
+      SigningKeyRepository signingKeyRepository,
+      JwtKeyRing keyRing,
+      @Value("${app.jwt.keys.rotation-interval-ms}") long rotationIntervalMs,
+      @Value("${app.jwt.expiration-ms}") long jwtExpirationMs,
+      @Value("${app.jwt.keys.encryption-secret}") String encryptionSecret) {
+    this.signingKeyRepository = signingKeyRepository;
+    this.keyRing = keyRing;
+    this.rotationInterval = Duration.ofMillis(rotationIntervalMs);
+    this.tokenLifetime = Duration.ofMillis(jwtExpirationMs);
+    this.encryptionKey = new SecretKeySpec(sha256(encryptionSecret), "AES");
+  }
+
+  @PostConstruct
+  void init() {
+    refresh();
+  }
+
+  @Scheduled(
+      fixedDelayString = "${app.jwt.keys.refresh-interval-ms}",
+      initialDelayString = "${app.jwt.keys.refresh-interval-ms}")
+  public void refresh() {
+    Instant now = Instant.now();
+    // Rotation decisions need the newest key, which a lagging replica may not have yet
+    List<SigningKey> stored =
+        new ArrayList<>(
+            ReplicaRoutingDataSource.onPrimary(
+                signingKeyRepository::findAllByOrderByCreatedAtDesc));
+
+    if (stored.isEmpty() || !stored.get(0).getCreatedAt().isAfter(now.minus(rotationInterval))) {
+      stored.add(0, signingKeyRepository.save(toEntity(JwtKeyRing.generateKey())));
+    }
+
+    // A key stops signing when its successor activates; its tokens outlive that by their lifetime
+    List<JwtSigningKey> retained = new ArrayList<>();
+    List<String> expired = new ArrayList<>();
+    Instant successorActivatedAt = null;
+    for (SigningKey key : stored) {
+      if (successorActivatedAt != null && successorActivatedAt.plus(tokenLifetime).isBefore(now)) {
+        expired.add(key.getKid());
+      } else {
+        retained.add(toSigningKey(key));
+      }
+      successorActivatedAt = key.getCreatedAt().plus(keyRing.getActivationDelay());
+    }
+
+    if (!expired.isEmpty()) {
+      signingKeyRepository.deleteAllById(expired);
+    }
+    keyRing.replace(retained);
+  }
+
+  private SigningKey toEntity(JwtSigningKey key) {
+    SigningKey entity = new SigningKey();
+    entity.setKid(key.kid());
+    entity.setPublicKey(key.publicKey().getEncoded());
+    entity.setEncryptedPrivateKey(encrypt(key.privateKey().getEncoded()));
+    entity.setCreatedAt(key.createdAt());
+    return entity;
+  }
+
+  private JwtSigningKey toSigningKey(SigningKey entity) {
+    try {
+      KeyFactory keyFactory = KeyFactory.getInstance("EC");
+      return new JwtSigningKey(
+          entity.getKid(),
+          keyFactory.generatePrivate(
+              new PKCS8EncodedKeySpec(decrypt(entity.getEncryptedPrivateKey()))),
+          keyFactory.generatePublic(new X509EncodedKeySpec(entity.getPublicKey())),
+          entity.getCreatedAt());
+    } catch (GeneralSecurityException ex) {
+      throw new IllegalStateException("Cannot load JWT signing key " + entity.getKid(), ex);
+    }
+  }
+
+  // AES-GCM with the IV prepended to the ciphertext
+  private byte[] encrypt(byte[] plaintext) {
+    try {
+      byte[] iv = new byte[GCM_IV_BYTES];
+      secureRandom.nextBytes(iv);
+      Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+      cipher.init(Cipher.ENCRYPT_MODE, encryptionKey, new GCMParameterSpec(GCM_TAG_BITS, iv));
+      byte[] ciphertext = cipher.doFinal(plaintext);
+      byte[] result = Arrays.copyOf(iv, GCM_IV_BYTES + ciphertext.length);
+      System.arraycopy(ciphertext, 0, result, GCM_IV_BYTES, ciphertext.length);
+      return result;
+    } catch (GeneralSecurityException ex) {
+      throw new IllegalStateException("Cannot encrypt JWT signing key", ex);
+    }
+  }
+
+  private byte[] decrypt(byte[] encrypted) throws GeneralSecurityException {
+    Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+    cipher.init(
+        Cipher.DECRYPT_MODE,
+        encryptionKey,
+        new GCMParameterSpec(GCM_TAG_BITS, encrypted, 0, GCM_IV_BYTES));
+    return cipher.doFinal(encrypted, GCM_IV_BYTES, encrypted.length - GCM_IV_BYTES);
+  }
+
+  private static byte[] sha256(String value) {
+    try {
+      return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+    } catch (GeneralSecurityException ex) {
+      throw new IllegalStateException("SHA-256 is not available", ex);
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package com.expensetracker.userservice.service;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.expensetracker.userservice.entity.RevokedToken;
+import com.expensetracker.userservice.repository.RevokedTokenRepository;
+import com.expensetracker.userservice.util.JtiDenylist;
+import com.expensetracker.userservice.util.Watermark;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Revokes single access tokens. A revocation takes effect on this instance immediately and reaches
+ * the others through the revoked_tokens table, which each instance polls incrementally into its
+ * {@link JtiDenylist}. Requests themselves never touch the table.
+ */
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService {
+
+  private final RevokedTokenRepository revokedTokenRepository;
+  private final JtiDenylist jtiDenylist;
+  private final Watermark<Instant> watermark = Watermark.ofInstants();
+
+  public void revoke(UUID jti, Instant expiresAt) {
+    if (!expiresAt.isAfter(Instant.now()) || jtiDenylist.isRevoked(jti)) {
+      return;
+    }
+    jtiDenylist.revoke(jti, expiresAt.toEpochMilli());
+
+    RevokedToken revokedToken = new RevokedToken();
+    revokedToken.setJti(jti);
+    revokedToken.setExpiresAt(expiresAt);
+    revokedToken.setRevokedAt(Instant.now());
+    revokedTokenRepository.save(revokedToken);
+  }
+
+  @Transactional
+  @Scheduled(fixedDelayString = "${app.jwt.denylist.refresh-interval-ms:5000}")
+  public void refresh() {
+    Instant now = Instant.now();
+    watermark.poll(
+        since -> revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(since, now).stream(),
+        RevokedToken::getRevokedAt,
+        revokedToken ->
+            jtiDenylist.revoke(revokedToken.getJti(), revokedToken.getExpiresAt().toEpochMilli()));
+    revokedTokenRepository.deleteExpired(now);
+  }
+}
@@ -0,0 +1,82 @@
+package com.expensetracker.userservice.service;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.expensetracker.userservice.dto.response.AvailabilityResponse;
+import com.expensetracker.userservice.repository.UserIdentityView;
+import com.expensetracker.userservice.repository.UserRepository;
+import com.expensetracker.userservice.util.BloomFilter;
+import com.expensetracker.userservice.util.Watermark;
+
+/**
+ * Answers username and email availability checks from in-memory Bloom filters. Once the first
+ * refresh has loaded every user, a negative answer from a filter is taken as exact, so names that
+ * were never registered are reported available without a query. Only values the filter might
+ * contain are confirmed against the database, as is every value until that first load. The filters
+ * are refreshed incrementally from users created since the last pass, which also picks up
+ * registrations made on other instances. A registration committed on another instance more than the
+ * {@link Watermark#OVERLAP} after its created_at is missed and may be reported available; the
+ * unique indexes still reject it at registration.
+ */
+@Service
+public class UserAvailabilityService {
+
+  private final UserRepository userRepository;
+  private final BloomFilter usernames;
+  private final BloomFilter emails;
+  private final Watermark<LocalDateTime> watermark = Watermark.ofLocalDateTimes();
+  private volatile boolean loaded;
+
+  public UserAvailabilityService(
+      UserRepository userRepository,
+      @Value("${app.users.availability.expected-users:1000000}") long expectedUsers,
+      @Value("${app.users.availability.false-positive-rate:0.01}") double falsePositiveRate) {
+    this.userRepository = userRepository;
+    this.usernames = new BloomFilter(expectedUsers, falsePositiveRate);
+    this.emails = new BloomFilter(expectedUsers, falsePositiveRate);
+  }
+
+  // Usernames and emails are unique regardless of case, so the filters hold lower-cased values
+  public AvailabilityResponse checkAvailability(String username, String email) {
+    return AvailabilityResponse.builder()
+        .usernameAvailable(
+            username == null
+                ? null
+                : !mightContain(usernames, username) || !userRepository.existsByUsername(username))
+        .emailAvailable(
+            email == null
+                ? null
+                : !mightContain(emails, email) || !userRepository.existsByEmail(email))
+        .build();
+  }
+
+  // Before the first full load a value missing from a filter may still belong to a user
+  private boolean mightContain(BloomFilter filter, String value) {
+    return !loaded || filter.mightContain(lowerCase(value));
+  }
+
+  public void record(String username, String email) {
+    usernames.put(lowerCase(username));
+    emails.put(lowerCase(email));
+  }
+
+  private static String lowerCase(String value) {
+    return value.toLowerCase(Locale.ROOT);
+  }
+
+  @Transactional(readOnly = true)
+  @Scheduled(fixedDelayString = "${app.users.availability.refresh-interval-ms:10000}")
+  public void refresh() {
+    watermark.poll(
+        userRepository::findByCreatedAtAfterOrderByCreatedAt,
+        UserIdentityView::getCreatedAt,
+        user -> record(user.getUsername(), user.getEmail()));
+    loaded = true;
+  }
+}
@@ -0,0 +1,328 @@
+package com.expensetracker.userservice.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.expensetracker.common.id.UUIDv7Generator;
+import com.expensetracker.userservice.dto.request.CreateUserRequest;
+import com.expensetracker.userservice.dto.response.BulkImportResponse;
+import com.expensetracker.userservice.dto.response.BulkImportRowResult;
+import com.expensetracker.userservice.dto.response.BulkImportRowResult.Status;
+import com.expensetracker.userservice.entity.User;
+import com.expensetracker.userservice.exception.ServiceOverloadedException;
+import com.expensetracker.userservice.exception.ValidationException;
+import com.expensetracker.userservice.repository.UserBulkRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.Validator;
+
+/**
+ * Imports users from a streamed JSON array or CSV document. Rows are read and processed in chunks:
+ * each chunk is validated, its passwords are hashed in parallel, and it is written with a single
+ * multi-row insert using ids allocated up front. One import runs at a time; a second one is
+ * rejected while it does, so imports cannot take the hashing pool from logins.
+ */
+@Service
+public class UserBulkImportService {
+
+  private final UserBulkRepository userBulkRepository;
+  private final PasswordHashingService passwordHashingService;
+  private final UserAvailabilityService userAvailabilityService;
+  private final Validator validator;
+  private final ObjectMapper objectMapper;
+  private final int maxRows;
+  private final int chunkSize;
+  private final Semaphore importPermit = new Semaphore(1);
+
+  public UserBulkImportService(
+      UserBulkRepository userBulkRepository,
+      PasswordHashingService passwordHashingService,
+      UserAvailabilityService userAvailabilityService,
+      Validator validator,
+      ObjectMapper objectMapper,
+      @Value("${app.users.bulk.max-rows:50000}") int maxRows,
+      @Value("${app.users.bulk.chunk-size:1000}") int chunkSize) {
+    this.userBulkRepository = userBulkRepository;
+    this.passwordHashingService = passwordHashingService;
+    this.userAvailabilityService = userAvailabilityService;
+    this.validator = validator;
+    this.objectMapper = objectMapper;
+    this.maxRows = maxRows;
+    this.chunkSize = chunkSize;
+  }
+
+  public BulkImportResponse importJson(InputStream inputStream) throws IOException {
+    return runExclusively(() -> readJson(inputStream));
+  }
+
+  public BulkImportResponse importCsv(InputStream inputStream) throws IOException {
+    return runExclusively(() -> readCsv(inputStream));
+  }
+
+  private BulkImportResponse runExclusively(ImportTask task) throws IOException {
+    if (!importPermit.tryAcquire()) {
+      throw new ServiceOverloadedException("Another bulk import is running, try again later");
+    }
+    try {
+      return task.run();
+    } finally {
+      importPermit.release();
+    }
+  }
+
+  private BulkImportResponse readJson(InputStream inputStream) throws IOException {
+    Importer importer = new Importer();
+    try (MappingIterator<CreateUserRequest> rows =
+        objectMapper.readerFor(CreateUserRequest.class).readValues(inputStream)) {
+      while (importer.acceptsMore() && rows.hasNextValue()) {
+        try {
+          importer.add(rows.nextValue(), null);
+        } catch (JsonMappingException ex) {
+          importer.add(null, "Row could not be mapped: " + ex.getOriginalMessage());
+        }
+      }
+    } catch (JsonProcessingException ex) {
+      throw new ValidationException("Malformed JSON", List.of(ex.getOriginalMessage()));
+    }
+    return importer.finish();
+  }
+
+  private BulkImportResponse readCsv(InputStream inputStream) throws IOException {
+    Importer importer = new Importer();
+    BufferedReader reader =
+        new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+
+    String headerLine = reader.readLine();
+    if (headerLine == null) {
+      return importer.finish();
+    }
+    List<String> header = parseCsvLine(headerLine).stream().map(String::trim).toList();
+    int usernameColumn = header.indexOf("username");
+    int emailColumn = header.indexOf("email");
+    int passwordColumn = header.indexOf("password");
+    if (usernameColumn < 0 || emailColumn < 0 || passwordColumn < 0) {
+      throw new ValidationException(
+          "Invalid CSV header", List.of("The header must name username, email and password"));
+    }
+
+    String line;
+    while (importer.acceptsMore() && (line = reader.readLine()) != null) {
+      if (line.isBlank()) {
+        continue;
+      }
+      List<String> values = parseCsvLine(line);
+      if (values.size() != header.size()) {
+        importer.add(null, "Expected " + header.size() + " columns but found " + values.size());
+        continue;
+      }
+      importer.add(
+          new CreateUserRequest(
+              values.get(usernameColumn), values.get(emailColumn), values.get(passwordColumn)),
+          null);
+    }
+    return importer.finish();
+  }
+
+  // Split a CSV line on commas, honouring double-quoted values and "" escapes
+  static List<String> parseCsvLine(String line) {
+    List<String> values = new ArrayList<>();
+    StringBuilder current = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (quoted) {
+        if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+          current.append('"');
+          i++;
+        } else if (c == '"') {
+          quoted = false;
+        } else {
+          current.append(c);
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == ',') {
+        values.add(current.toString());
+        current.setLength(0);
+      } else {
+        current.append(c);
+      }
+    }
+    values.add(current.toString());
+    return values;
+  }
+
+  /** Accumulates rows of one import and flushes them chunk by chunk */
+  private class Importer {
+
+    private final List<BulkImportRowResult> results = new ArrayList<>();
+    private final List<PendingRow> chunk = new ArrayList<>();
+    private final Set<String> seenUsernames = new HashSet<>();
+    private final Set<String> seenEmails = new HashSet<>();
+    private int rowCount;
+    private boolean limitReached;
+
+    boolean acceptsMore() {
+      if (rowCount < maxRows) {
+        return true;
+      }
+      limitReached = true;
+      return false;
+    }
+
+    void add(CreateUserRequest request, String parseError) {
+      rowCount++;
+      chunk.add(new PendingRow(rowCount, request, parseError));
+      if (chunk.size() >= chunkSize) {
+        flush();
+      }
+    }
+
+    BulkImportResponse finish() {
+      flush();
+      if (limitReached) {
+        results.add(
+            BulkImportRowResult.builder()
+                .row(rowCount + 1)
+                .status(Status.REJECTED)
+                .errors(
+                    List.of("Row limit of " + maxRows + " reached, remaining rows were skipped"))
+                .build());
+      }
+
+      int imported =
+          (int) results.stream().filter(result -> result.getStatus() == Status.CREATED).count();
+      return BulkImportResponse.builder()
+          .total(rowCount)
+          .imported(imported)
+          .failed(rowCount - imported)
+          .results(results)
+          .build();
+    }
+
+    private void flush() {
+      if (chunk.isEmpty()) {
+        return;
+      }
+
+      // Validate rows and reject duplicates within the import itself
+      List<PendingRow> valid = new ArrayList<>();
+      for (PendingRow row : chunk) {
+        List<String> errors = validate(row);
+        if (!errors.isEmpty()) {
+          row.result(Status.INVALID, errors);
+        } else if (!seenEmails.add(row.request.getEmail().toLowerCase(Locale.ROOT))) {
+          row.result(Status.CONFLICT, List.of("Email already exists"));
+        } else if (!seenUsernames.add(row.request.getUsername().toLowerCase(Locale.ROOT))) {
+          row.result(Status.CONFLICT, List.of("Username already exists"));
+        } else {
+          valid.add(row);
+        }
+      }
+
+      if (!valid.isEmpty()) {
+        insert(valid);
+      }
+
+      chunk.forEach(row -> results.add(row.result));
+      chunk.clear();
+    }
+
+    private List<String> validate(PendingRow row) {
+      if (row.parseError != null) {
+        return List.of(row.parseError);
+      }
+      return validator.validate(row.request).stream()
+          .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+          .sorted()
+          .toList();
+    }
+
+    private void insert(List<PendingRow> rows) {
+      List<String> encodedPasswords =
+          passwordHashingService.encodeAll(
+              rows.stream().map(row -> row.request.getPassword()).toList());
+
+      UUID[] ids = UUIDv7Generator.nextIds(rows.size());
+      List<User> users = new ArrayList<>(rows.size());
+      for (int i = 0; i < rows.size(); i++) {
+        CreateUserRequest request = rows.get(i).request;
+        User user = new User();
+        user.setId(ids[i]);
+        user.setUsername(request.getUsername());
+        user.setEmail(request.getEmail());
+        user.setPassword(encodedPasswords.get(i));
+        users.add(user);
+      }
+
+      Set<UUID> inserted = userBulkRepository.insertAll(users);
+
+      List<User> conflicting = users.stream().filter(u -> !inserted.contains(u.getId())).toList();
+      Set<String> takenEmails = new HashSet<>();
+      if (!conflicting.isEmpty()) {
+        userBulkRepository
+            .findByUsernameInOrEmailIn(
+                conflicting.stream().map(User::getUsername).toList(),
+                conflicting.stream().map(User::getEmail).toList())
+            .forEach(taken -> takenEmails.add(taken.getEmail().toLowerCase(Locale.ROOT)));
+      }
+
+      for (int i = 0; i < rows.size(); i++) {
+        User user = users.get(i);
+        PendingRow row = rows.get(i);
+        if (inserted.contains(user.getId())) {
+          row.result(Status.CREATED, null).setId(user.getId());
+          userAvailabilityService.record(user.getUsername(), user.getEmail());
+        } else if (takenEmails.contains(user.getEmail().toLowerCase(Locale.ROOT))) {
+          row.result(Status.CONFLICT, List.of("Email already exists"));
+        } else {
+          row.result(Status.CONFLICT, List.of("Username already exists"));
+        }
+      }
+    }
+  }
+
+  private interface ImportTask {
+    BulkImportResponse run() throws IOException;
+  }
+
+  private static class PendingRow {
+    private final int row;
+    private final CreateUserRequest request;
+    private final String parseError;
+    private BulkImportRowResult result;
+
+    PendingRow(int row, CreateUserRequest request, String parseError) {
+      this.row = row;
+      this.request = request;
+      this.parseError = parseError;
+    }
+
+    BulkImportRowResult result(Status status, List<String> errors) {
+      result =
+          BulkImportRowResult.builder()
+              .row(row)
+              .username(request == null ? null : request.getUsername())
+              .status(status)
+              .errors(errors)
+              .build();
+      return result;
+    }
+  }
+}
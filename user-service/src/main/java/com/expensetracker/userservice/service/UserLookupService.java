@@ -0,0 +1,30 @@
+package com.expensetracker.userservice.service;
+
+import java.util.Optional;
+
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import com.expensetracker.userservice.dto.UserDTO;
+import com.expensetracker.userservice.repository.UserRepository;
+import com.expensetracker.userservice.util.ReadYourWritesTracker;
+import com.expensetracker.userservice.util.UserMapper;
+
+import lombok.RequiredArgsConstructor;
+
+/** Cached username lookups shared by the login path and the user details path */
+@Service
+@RequiredArgsConstructor
+public class UserLookupService {
+
+  private final UserRepository userRepository;
+  private final UserMapper userMapper;
+  private final ReadYourWritesTracker readYourWrites;
+
+  @Cacheable(value = "usersByUsername", key = "#username", unless = "#result == null")
+  public Optional<UserDTO> findByUsername(String username) {
+    return readYourWrites
+        .read(username, () -> userRepository.findByUsername(username))
+        .map(userMapper::toDTO);
+  }
+}
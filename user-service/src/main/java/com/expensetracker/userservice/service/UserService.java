@@ -1,5 +1,7 @@
 package com.expensetracker.userservice.service;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.UUID;
 
 import com.expensetracker.userservice.dto.UserDTO;
@@ -8,7 +10,15 @@ import com.expensetracker.userservice.dto.response.AuthResponse;
 public interface UserService {
   UserDTO getUserById(UUID id);
 
+  Map<UUID, UserDTO> getUsersByIds(Collection<UUID> ids);
+
   UserDTO createUser(UserDTO userDTO);
 
   AuthResponse authenticateUser(UserDTO userDTO);
+
+  AuthResponse refreshToken(String refreshToken);
+
+  void logout(String refreshToken, String accessToken);
+
+  UserDTO revokeTokens(String username);
 }
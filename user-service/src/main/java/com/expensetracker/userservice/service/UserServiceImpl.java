@@ -1,22 +1,42 @@
 package com.expensetracker.userservice.service;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
+import com.expensetracker.userservice.config.CacheConfig;
 import com.expensetracker.userservice.dto.UserDTO;
 import com.expensetracker.userservice.dto.response.AuthResponse;
 import com.expensetracker.userservice.entity.User;
+import com.expensetracker.userservice.exception.InvalidTokenException;
 import com.expensetracker.userservice.exception.ResourceAlreadyExistsException;
 import com.expensetracker.userservice.exception.ResourceNotFoundException;
+import com.expensetracker.userservice.exception.ServiceOverloadedException;
 import com.expensetracker.userservice.repository.UserRepository;
 import com.expensetracker.userservice.util.JwtTokenProvider;
+import com.expensetracker.userservice.util.ReadYourWritesTracker;
+import com.expensetracker.userservice.util.TokenVersionRegistry;
 import com.expensetracker.userservice.util.UserMapper;
+import com.expensetracker.userservice.util.UserMetrics;
+import com.expensetracker.userservice.util.UserMetrics.Phase;
+import com.github.benmanes.caffeine.cache.Cache;
 
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -24,31 +44,45 @@ import lombok.RequiredArgsConstructor;
 public class UserServiceImpl implements UserService {
 
   private final UserRepository userRepository;
+  private final UserLookupService userLookupService;
+  private final UserAvailabilityService userAvailabilityService;
   private final UserMapper userMapper;
-  private final PasswordEncoder passwordEncoder;
+  private final PasswordHashingService passwordHashingService;
   private final JwtTokenProvider jwtTokenProvider;
+  private final TokenVersionRegistry tokenVersionRegistry;
+  private final RefreshTokenService refreshTokenService;
+  private final TokenRevocationService tokenRevocationService;
+  private final CacheManager cacheManager;
+  private final UserMetrics userMetrics;
+  private final ReadYourWritesTracker readYourWrites;
 
-  @CacheEvict(value = "users", key = "#result.id")
+  @Caching(
+      evict = {
+        @CacheEvict(value = "users", key = "#result.id"),
+        @CacheEvict(value = "usersByUsername", key = "#result.username")
+      })
   @Override
   public UserDTO createUser(UserDTO userDTO) {
-    // Replace two separate queries with one combined query
-    if (userRepository.existsByUsernameOrEmail(userDTO.getUsername(), userDTO.getEmail())) {
-      // You may want to determine which field caused the conflict
-      if (userRepository.existsByEmail(userDTO.getEmail())) {
-        throw new ResourceAlreadyExistsException("Email already exists");
-      } else if (userRepository.existsByUsername(userDTO.getUsername())) {
-        throw new ResourceAlreadyExistsException("Username already exists");
-      }
-    }
-
     // Convert DTO to entity
     User user = userMapper.toEntity(userDTO);
 
     // Encode password
-    user.setPassword(passwordEncoder.encode(user.getPassword()));
+    long start = System.nanoTime();
+    user.setPassword(passwordHashingService.encode(user.getPassword()));
+    userMetrics.record(Phase.REGISTER_HASH, start);
 
-    // Save the user
-    User savedUser = userRepository.save(user);
+    // Save the user in a single insert, the unique constraints detect taken usernames and emails
+    start = System.nanoTime();
+    User savedUser;
+    try {
+      savedUser = userRepository.saveAndFlush(user);
+    } catch (DataIntegrityViolationException ex) {
+      throw toConflict(ex);
+    } finally {
+      userMetrics.record(Phase.REGISTER_INSERT, start);
+    }
+    userAvailabilityService.record(savedUser.getUsername(), savedUser.getEmail());
+    readYourWrites.recordWrite(savedUser.getId(), savedUser.getUsername());
 
     // Return DTO
     return userMapper.toDTO(savedUser);
@@ -58,35 +92,181 @@ public class UserServiceImpl implements UserService {
   @Override
   public UserDTO getUserById(UUID id) {
     User user =
-        userRepository
-            .findById(id)
+        readYourWrites
+            .read(id, () -> userRepository.findById(id))
             .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
     return userMapper.toDTO(user);
   }
 
+  @Override
+  public Map<UUID, UserDTO> getUsersByIds(Collection<UUID> ids) {
+    Cache<Object, Object> usersCache = nativeUsersCache();
+
+    // Serve hits with one multi-get, then load all misses with a single query
+    Map<UUID, UserDTO> users = new HashMap<>();
+    usersCache.getAllPresent(ids).forEach((id, user) -> users.put((UUID) id, (UserDTO) user));
+
+    List<UUID> misses = ids.stream().filter(id -> !users.containsKey(id)).distinct().toList();
+    if (!misses.isEmpty()) {
+      Map<Object, Object> loaded = new HashMap<>();
+      for (User user : userRepository.findAllById(misses)) {
+        UserDTO userDTO = userMapper.toDTO(user);
+        users.put(userDTO.getId(), userDTO);
+        loaded.put(userDTO.getId(), userDTO);
+      }
+      usersCache.putAll(loaded);
+    }
+
+    return users;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Cache<Object, Object> nativeUsersCache() {
+    return (Cache<Object, Object>) cacheManager.getCache(CacheConfig.USERS_CACHE).getNativeCache();
+  }
+
   @Override
   public AuthResponse authenticateUser(UserDTO userDTO) {
     // Find user by username only
-    User user =
-        userRepository
-            .findByUsername(userDTO.getUsername())
-            .orElseThrow(
-                () ->
-                    new ResourceNotFoundException(
-                        "User not found with username: " + userDTO.getUsername()));
+    long start = System.nanoTime();
+    Optional<UserDTO> found = userLookupService.findByUsername(userDTO.getUsername());
+    userMetrics.record(Phase.LOGIN_LOOKUP, start);
+    UserDTO user =
+        found.orElseThrow(
+            () ->
+                new ResourceNotFoundException(
+                    "User not found with username: " + userDTO.getUsername()));
 
     // Verify password
-    if (!passwordEncoder.matches(userDTO.getPassword(), user.getPassword())) {
+    start = System.nanoTime();
+    boolean matches = passwordHashingService.matches(userDTO.getPassword(), user.getPassword());
+    userMetrics.record(Phase.LOGIN_VERIFY, start);
+    if (!matches) {
       throw new BadCredentialsException("Invalid password");
     }
 
-    // Generate JWT token
-    String token = jwtTokenProvider.generateToken(user);
+    // Transparently move outdated hashes to the current algorithm and cost
+    if (passwordHashingService.upgradeEncoding(user.getPassword())) {
+      rehashPassword(user, userDTO.getPassword());
+    }
+
+    // Start a refresh token family, then sign the access token
+    start = System.nanoTime();
+    String refreshToken = refreshTokenService.issue(user.getId());
+    userMetrics.record(Phase.LOGIN_REFRESH_TOKEN, start);
+
+    start = System.nanoTime();
+    AuthResponse authResponse = buildAuthResponse(user, refreshToken);
+    userMetrics.record(Phase.LOGIN_SIGN, start);
+    return authResponse;
+  }
+
+  @Override
+  @Transactional(noRollbackFor = InvalidTokenException.class)
+  public AuthResponse refreshToken(String refreshToken) {
+    // Only hashes and a key lookup, no password verification. The rotation commits only with a
+    // response to return, apart from a reused token, whose family stays deleted.
+    RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+    UserDTO user =
+        Optional.ofNullable(cacheManager.getCache(CacheConfig.USERS_CACHE))
+            .map(cache -> cache.get(rotation.userId(), UserDTO.class))
+            .orElseThrow(
+                () -> {
+                  TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+                  return new InvalidTokenException("Invalid refresh token");
+                });
+    return buildAuthResponse(user, rotation.refreshToken());
+  }
+
+  @Override
+  public void logout(String refreshToken, String accessToken) {
+    if (refreshToken != null) {
+      refreshTokenService.revokeFamily(refreshToken);
+    }
+    Claims claims = accessToken == null ? null : jwtTokenProvider.verifyToken(accessToken);
+    if (claims != null && claims.getId() != null) {
+      tokenRevocationService.revoke(
+          UUID.fromString(claims.getId()), claims.getExpiration().toInstant());
+    }
+  }
+
+  private AuthResponse buildAuthResponse(UserDTO user, String refreshToken) {
+    // A cached entry may predate a revocation made on another instance
+    User tokenSubject = userMapper.toEntity(user);
+    tokenSubject.setTokenVersion(
+        tokenVersionRegistry.currentVersion(user.getId(), user.getTokenVersion()));
 
-    // Return authentication response
     return AuthResponse.builder()
-        .token(token)
-        .user(userMapper.toResponse(userMapper.toDTO(user)))
+        .token(jwtTokenProvider.generateToken(tokenSubject))
+        .expiresIn(jwtTokenProvider.getExpirationSeconds())
+        .refreshToken(refreshToken)
+        .user(userMapper.toResponse(user))
         .build();
   }
+
+  @Caching(
+      evict = {
+        @CacheEvict(value = "users", key = "#result.id"),
+        @CacheEvict(value = "usersByUsername", key = "#result.username")
+      })
+  @Override
+  @Transactional
+  public UserDTO revokeTokens(String username) {
+    // Tokens issued with an older version are rejected from now on. The bump is done by the
+    // database, so a concurrent revocation or a stale cached copy cannot undo it.
+    if (userRepository.incrementTokenVersion(username, LocalDateTime.now()) == 0) {
+      throw new ResourceNotFoundException("User not found with username: " + username);
+    }
+    User savedUser =
+        userRepository
+            .findByUsernameUncached(username)
+            .orElseThrow(
+                () -> new ResourceNotFoundException("User not found with username: " + username));
+    tokenVersionRegistry.update(savedUser.getId(), savedUser.getTokenVersion());
+    refreshTokenService.revokeAll(savedUser.getId());
+    readYourWrites.recordWrite(savedUser.getId(), savedUser.getUsername());
+
+    return userMapper.toDTO(savedUser);
+  }
+
+  private RuntimeException toConflict(DataIntegrityViolationException ex) {
+    String constraint =
+        ex.getCause() instanceof ConstraintViolationException violation
+            ? violation.getConstraintName()
+            : null;
+    String detail = String.valueOf(ex.getMostSpecificCause().getMessage());
+
+    if (User.EMAIL_CONSTRAINT.equals(constraint) || detail.contains("(email")) {
+      return new ResourceAlreadyExistsException("Email already exists");
+    }
+    if (User.USERNAME_CONSTRAINT.equals(constraint)
+        || User.USERNAME_CI_CONSTRAINT.equals(constraint)
+        || detail.contains("(username")) {
+      return new ResourceAlreadyExistsException("Username already exists");
+    }
+    return ex;
+  }
+
+  private void rehashPassword(UserDTO user, String rawPassword) {
+    try {
+      String encodedPassword = passwordHashingService.encode(rawPassword);
+      // Only the password column is written, and only while it still holds the verified hash, so
+      // the upgrade cannot overwrite a token version or a password changed in the meantime
+      if (userRepository.updatePassword(
+              user.getId(), user.getPassword(), encodedPassword, LocalDateTime.now())
+          > 0) {
+        readYourWrites.recordWrite(user.getId(), user.getUsername());
+      }
+      evictUserCaches(user);
+    } catch (ServiceOverloadedException ex) {
+      // The login already succeeded, so retry the upgrade on a later login
+    }
+  }
+
+  private void evictUserCaches(UserDTO user) {
+    Optional.ofNullable(cacheManager.getCache(CacheConfig.USERS_CACHE))
+        .ifPresent(cache -> cache.evict(user.getId()));
+    Optional.ofNullable(cacheManager.getCache(CacheConfig.USERS_BY_USERNAME_CACHE))
+        .ifPresent(cache -> cache.evict(user.getUsername()));
+  }
 }
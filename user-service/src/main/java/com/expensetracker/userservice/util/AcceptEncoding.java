@@ -0,0 +1,48 @@
+package com.expensetracker.userservice.util;
+
+import java.util.Locale;
+
+/**
+ * Reads an Accept-Encoding header (RFC 9110, section 12.5.3). A coding is acceptable when it is
+ * listed with a non-zero q-value, or when it is not listed and {@code *} is, with a non-zero
+ * q-value. Malformed q-values count as zero.
+ */
+public final class AcceptEncoding {
+
+  private AcceptEncoding() {}
+
+  public static boolean accepts(String acceptEncoding, String coding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    Double codingWeight = null;
+    Double wildcardWeight = null;
+    for (String element : acceptEncoding.split(",")) {
+      String[] parts = element.split(";");
+      String name = parts[0].trim().toLowerCase(Locale.ROOT);
+      double weight = weight(parts);
+      if (name.equals(coding) || name.equals("x-" + coding)) {
+        codingWeight = codingWeight == null ? weight : Math.max(codingWeight, weight);
+      } else if (name.equals("*")) {
+        wildcardWeight = weight;
+      }
+    }
+    Double weight = codingWeight != null ? codingWeight : wildcardWeight;
+    return weight != null && weight > 0;
+  }
+
+  private static double weight(String[] parts) {
+    for (int i = 1; i < parts.length; i++) {
+      String parameter = parts[i].trim();
+      if (parameter.length() > 2 && parameter.regionMatches(true, 0, "q=", 0, 2)) {
+        try {
+          double weight = Double.parseDouble(parameter.substring(2));
+          return weight >= 0 && weight <= 1 ? weight : 0;
+        } catch (NumberFormatException ex) {
+          return 0;
+        }
+      }
+    }
+    return 1;
+  }
+}
@@ -0,0 +1,45 @@
+package com.expensetracker.userservice.util;
+
+import java.util.Arrays;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/** Picks the strongest BCrypt cost whose hash time fits a latency budget on the current machine */
+public final class BCryptCostCalibrator {
+
+  private static final String SAMPLE_PASSWORD = "Calibr@tion-Sample-1";
+  private static final int SAMPLES = 3;
+
+  private BCryptCostCalibrator() {}
+
+  public static int calibrate(int minStrength, int maxStrength, long budgetMs) {
+    int chosen = minStrength;
+    for (int strength = minStrength; strength <= maxStrength; strength++) {
+      long medianMs = measureMedianMs(new BCryptPasswordEncoder(strength));
+      if (medianMs > budgetMs) {
+        break;
+      }
+      chosen = strength;
+
+      // Each step doubles the work, so stop early when the next cost cannot fit
+      if (medianMs * 2 > budgetMs) {
+        break;
+      }
+    }
+    return chosen;
+  }
+
+  private static long measureMedianMs(BCryptPasswordEncoder encoder) {
+    // Warm up once so JIT compilation does not count against the budget
+    encoder.encode(SAMPLE_PASSWORD);
+
+    long[] timings = new long[SAMPLES];
+    for (int i = 0; i < SAMPLES; i++) {
+      long start = System.nanoTime();
+      encoder.encode(SAMPLE_PASSWORD);
+      timings[i] = (System.nanoTime() - start) / 1_000_000;
+    }
+    Arrays.sort(timings);
+    return timings[SAMPLES / 2];
+  }
+}
@@ -0,0 +1,116 @@
+package com.expensetracker.userservice.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Caps the number of connections checked out at once with a fair semaphore sized to the pool. With
+ * virtual threads thousands of requests can reach the data layer concurrently; they now queue in
+ * FIFO order on the semaphore instead of piling onto the pool, and never ask for more connections
+ * than the pool allows.
+ */
+public class ConcurrencyLimitedDataSource extends DelegatingDataSource {
+
+  private final Semaphore permits;
+  private final long acquireTimeoutMs;
+  private final LongAdder acquireCount = new LongAdder();
+  private final LongAdder acquireWaitNanos = new LongAdder();
+
+  public ConcurrencyLimitedDataSource(
+      DataSource target, int maxConnections, long acquireTimeoutMs) {
+    super(target);
+    this.permits = new Semaphore(maxConnections, true);
+    this.acquireTimeoutMs = acquireTimeoutMs;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    acquire();
+    try {
+      return releasingOnClose(super.getConnection());
+    } catch (SQLException | RuntimeException ex) {
+      permits.release();
+      throw ex;
+    }
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    acquire();
+    try {
+      return releasingOnClose(super.getConnection(username, password));
+    } catch (SQLException | RuntimeException ex) {
+      permits.release();
+      throw ex;
+    }
+  }
+
+  public int getAvailablePermits() {
+    return permits.availablePermits();
+  }
+
+  public int getQueueLength() {
+    return permits.getQueueLength();
+  }
+
+  public long getAcquireCount() {
+    return acquireCount.sum();
+  }
+
+  public double getAcquireWaitNanos() {
+    return acquireWaitNanos.sum();
+  }
+
+  private void acquire() throws SQLException {
+    long start = System.nanoTime();
+    try {
+      boolean acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+      acquireCount.increment();
+      acquireWaitNanos.add(System.nanoTime() - start);
+      if (!acquired) {
+        throw new SQLTransientConnectionException(
+            "Timed out after " + acquireTimeoutMs + " ms waiting for a database connection");
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new SQLTransientConnectionException(
+          "Interrupted waiting for a database connection", ex);
+    }
+  }
+
+  // Return the permit exactly once, when the pooled connection is handed back
+  private Connection releasingOnClose(Connection connection) {
+    AtomicBoolean released = new AtomicBoolean();
+    return (Connection)
+        Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] {Connection.class},
+            (proxy, method, args) -> {
+              if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                try {
+                  return method.invoke(connection, args);
+                } catch (InvocationTargetException ex) {
+                  throw ex.getCause();
+                } finally {
+                  permits.release();
+                }
+              }
+              try {
+                return method.invoke(connection, args);
+              } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+              }
+            });
+  }
+}
@@ -1,15 +1,13 @@
 package com.expensetracker.userservice.util;
 
-import java.util.Collections;
-
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import com.expensetracker.userservice.entity.User;
-import com.expensetracker.userservice.repository.UserRepository;
+import com.expensetracker.userservice.dto.UserDTO;
+import com.expensetracker.userservice.service.UserLookupService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -17,12 +15,13 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
-  private final UserRepository userRepository;
+  private final UserLookupService userLookupService;
+  private final UserRoles userRoles;
 
   @Override
   public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-    User user =
-        userRepository
+    UserDTO user =
+        userLookupService
             .findByUsername(username)
             .orElseThrow(
                 () -> new UsernameNotFoundException("User not found with username: " + username));
@@ -30,6 +29,6 @@ public class CustomUserDetailsService implements UserDetailsService {
     return new org.springframework.security.core.userdetails.User(
         user.getUsername(),
         user.getPassword(),
-        Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+        userRoles.of(user.getUsername()).stream().map(SimpleGrantedAuthority::new).toList());
   }
 }
@@ -0,0 +1,78 @@
+package com.expensetracker.userservice.util;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConversionException;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonInputMessage;
+
+import com.expensetracker.userservice.dto.UserDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.exc.InvalidDefinitionException;
+
+/**
+ * Reads and writes the service's DTOs through one ObjectReader and ObjectWriter per type, created
+ * once with the root deserializer or serializer resolved, instead of building them per request.
+ * Other types, JSON views, filters and non-UTF-8 bodies take the regular path.
+ */
+public class DtoJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+  private static final String DTO_PACKAGE = UserDTO.class.getPackageName() + ".";
+
+  private final Map<JavaType, ObjectReader> readers = new ConcurrentHashMap<>();
+  private final Map<JavaType, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+  public DtoJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+    super(objectMapper);
+  }
+
+  @Override
+  public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+      throws IOException, HttpMessageNotReadableException {
+    JavaType javaType = getJavaType(type, contextClass);
+    if (!isDto(javaType)
+        || inputMessage instanceof MappingJacksonInputMessage
+        || !StandardCharsets.UTF_8.equals(getCharset(inputMessage.getHeaders().getContentType()))) {
+      return super.read(type, contextClass, inputMessage);
+    }
+
+    // Same exceptions as the regular path, which GlobalExceptionHandler turns into 400s
+    try {
+      return readers
+          .computeIfAbsent(javaType, getObjectMapper()::readerFor)
+          .readValue(inputMessage.getBody());
+    } catch (InvalidDefinitionException ex) {
+      throw new HttpMessageConversionException("Type definition error: " + ex.getType(), ex);
+    } catch (JsonProcessingException ex) {
+      throw new HttpMessageNotReadableException(
+          "JSON parse error: " + ex.getOriginalMessage(), ex, inputMessage);
+    }
+  }
+
+  @Override
+  protected ObjectWriter customizeWriter(
+      ObjectWriter writer, JavaType javaType, MediaType contentType) {
+    // A writer with a view or filters has its own config
+    if (isDto(javaType) && writer.getConfig() == getObjectMapper().getSerializationConfig()) {
+      return writers.computeIfAbsent(javaType, getObjectMapper()::writerFor);
+    }
+    return writer;
+  }
+
+  private static boolean isDto(JavaType javaType) {
+    return javaType != null
+        && !javaType.isContainerType()
+        && javaType.getRawClass().getName().startsWith(DTO_PACKAGE);
+  }
+}
@@ -0,0 +1,202 @@
+package com.expensetracker.userservice.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import com.expensetracker.userservice.dto.response.ErrorResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * An {@link ErrorResponse} serialized once, with the timestamp, the path and, unless it is fixed,
+ * the message left as gaps that are filled in per response. Renders the same bytes the ObjectMapper
+ * writes for the equivalent ErrorResponse, without building or serializing one.
+ */
+public final class ErrorResponseTemplate {
+
+  // Same pattern as the @JsonFormat on ErrorResponse.timestamp
+  private static final DateTimeFormatter TIMESTAMP_FORMAT =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS");
+  private static final LocalDateTime TIMESTAMP_MARK = LocalDateTime.of(2000, 1, 1, 0, 0);
+  private static final String MESSAGE_MARK = "{message}";
+  private static final String PATH_MARK = "{path}";
+  private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+  private static final int TIMESTAMP_LENGTH = TIMESTAMP_FORMAT.format(TIMESTAMP_MARK).length() + 2;
+
+  private final HttpStatus status;
+  private final byte[][] literals;
+  private final Slot[] slots;
+
+  private ErrorResponseTemplate(HttpStatus status, byte[][] literals, Slot[] slots) {
+    this.status = status;
+    this.literals = literals;
+    this.slots = slots;
+  }
+
+  /** A body whose message varies; it is passed to {@link #render(String, String)} */
+  public static ErrorResponseTemplate of(ObjectMapper objectMapper, HttpStatus status) {
+    return of(objectMapper, status, MESSAGE_MARK);
+  }
+
+  /** A body with a fixed message */
+  public static ErrorResponseTemplate of(
+      ObjectMapper objectMapper, HttpStatus status, String message) {
+    ErrorResponse marked =
+        ErrorResponse.builder()
+            .timestamp(TIMESTAMP_MARK)
+            .status(status.value())
+            .error(status.getReasonPhrase())
+            .message(message)
+            .path(PATH_MARK)
+            .build();
+    String json;
+    try {
+      json = objectMapper.writeValueAsString(marked);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException("ErrorResponse cannot be serialized", ex);
+    }
+
+    // Split the JSON around the quoted marks, in the order they appear
+    List<int[]> gaps = new ArrayList<>();
+    for (Slot slot : Slot.values()) {
+      String quoted = "\"" + slot.mark + "\"";
+      int start = json.indexOf(quoted);
+      if (start >= 0) {
+        gaps.add(new int[] {start, start + quoted.length(), slot.ordinal()});
+      }
+    }
+    gaps.sort(Comparator.comparingInt(gap -> gap[0]));
+
+    byte[][] literals = new byte[gaps.size() + 1][];
+    Slot[] slots = new Slot[gaps.size()];
+    int from = 0;
+    for (int i = 0; i < gaps.size(); i++) {
+      int[] gap = gaps.get(i);
+      literals[i] = json.substring(from, gap[0]).getBytes(StandardCharsets.UTF_8);
+      slots[i] = Slot.values()[gap[2]];
+      from = gap[1];
+    }
+    literals[gaps.size()] = json.substring(from).getBytes(StandardCharsets.UTF_8);
+    return new ErrorResponseTemplate(status, literals, slots);
+  }
+
+  public HttpStatus getStatus() {
+    return status;
+  }
+
+  /** The JSON body, timestamped now; message is ignored when the template fixes it */
+  public byte[] render(String message, String path) {
+    byte[] messageToken = null;
+    byte[] pathToken = null;
+    int length = literals[slots.length].length;
+    for (int i = 0; i < slots.length; i++) {
+      length += literals[i].length;
+      switch (slots[i]) {
+        case TIMESTAMP -> length += TIMESTAMP_LENGTH;
+        case MESSAGE -> length += (messageToken = quote(message)).length;
+        case PATH -> length += (pathToken = quote(path)).length;
+      }
+    }
+
+    byte[] body = new byte[length];
+    int position = 0;
+    for (int i = 0; i < slots.length; i++) {
+      position = copy(literals[i], body, position);
+      position =
+          switch (slots[i]) {
+            case TIMESTAMP -> writeTimestamp(LocalDateTime.now(), body, position);
+            case MESSAGE -> copy(messageToken, body, position);
+            case PATH -> copy(pathToken, body, position);
+          };
+    }
+    copy(literals[slots.length], body, position);
+    return body;
+  }
+
+  /** Write the status and body for a fixed-message template straight to the response */
+  public void write(HttpServletResponse response, String path) throws IOException {
+    byte[] body = render(null, path);
+    response.setStatus(status.value());
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.setContentLength(body.length);
+    response.getOutputStream().write(body);
+  }
+
+  // Plain ASCII is copied as is; anything else is escaped the way Jackson escapes it
+  private static byte[] quote(String value) {
+    if (value == null) {
+      return NULL;
+    }
+    int length = value.length();
+    byte[] quoted = new byte[length + 2];
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      if (c < ' ' || c > '~' || c == '"' || c == '\\') {
+        byte[] escaped = JsonStringEncoder.getInstance().quoteAsUTF8(value);
+        quoted = new byte[escaped.length + 2];
+        System.arraycopy(escaped, 0, quoted, 1, escaped.length);
+        break;
+      }
+      quoted[i + 1] = (byte) c;
+    }
+    quoted[0] = '"';
+    quoted[quoted.length - 1] = '"';
+    return quoted;
+  }
+
+  // Quoted yyyy-MM-ddTHH:mm:ss.SSS, digit by digit rather than through TIMESTAMP_FORMAT
+  private static int writeTimestamp(LocalDateTime time, byte[] body, int position) {
+    body[position++] = '"';
+    position = writeDigits(time.getYear(), 4, body, position);
+    body[position++] = '-';
+    position = writeDigits(time.getMonthValue(), 2, body, position);
+    body[position++] = '-';
+    position = writeDigits(time.getDayOfMonth(), 2, body, position);
+    body[position++] = 'T';
+    position = writeDigits(time.getHour(), 2, body, position);
+    body[position++] = ':';
+    position = writeDigits(time.getMinute(), 2, body, position);
+    body[position++] = ':';
+    position = writeDigits(time.getSecond(), 2, body, position);
+    body[position++] = '.';
+    position = writeDigits(time.getNano() / 1_000_000, 3, body, position);
+    body[position++] = '"';
+    return position;
+  }
+
+  private static int writeDigits(int value, int digits, byte[] body, int position) {
+    for (int i = digits - 1; i >= 0; i--) {
+      body[position + i] = (byte) ('0' + value % 10);
+      value /= 10;
+    }
+    return position + digits;
+  }
+
+  private static int copy(byte[] source, byte[] body, int position) {
+    System.arraycopy(source, 0, body, position, source.length);
+    return position + source.length;
+  }
+
+  private enum Slot {
+    TIMESTAMP(TIMESTAMP_FORMAT.format(TIMESTAMP_MARK)),
+    MESSAGE(MESSAGE_MARK),
+    PATH(PATH_MARK);
+
+    private final String mark;
+
+    Slot(String mark) {
+      this.mark = mark;
+    }
+  }
+}
@@ -0,0 +1,97 @@
+package com.expensetracker.userservice.util;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+
+/**
+ * Writes LocalDateTime properties formatted with yyyy-MM-dd'T'HH:mm:ss and an optional S...
+ * fraction, the patterns the DTOs declare with @JsonFormat, digit by digit into a char buffer
+ * rather than through a DateTimeFormatter. The output is the same; every other format is left to
+ * the JavaTimeModule serializer.
+ */
+public class IsoLocalDateTimeSerializer extends StdSerializer<LocalDateTime>
+    implements ContextualSerializer {
+
+  private static final Pattern ISO_PATTERN =
+      Pattern.compile("yyyy-MM-dd'T'HH:mm:ss(?:\\.(S{1,9}))?");
+  private static final int[] POWERS_OF_TEN = {
+    1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000, 100_000_000, 1_000_000_000
+  };
+
+  private final int fractionDigits;
+  private final DateTimeFormatter formatter;
+
+  public IsoLocalDateTimeSerializer() {
+    this(0, null);
+  }
+
+  private IsoLocalDateTimeSerializer(int fractionDigits, DateTimeFormatter formatter) {
+    super(LocalDateTime.class);
+    this.fractionDigits = fractionDigits;
+    this.formatter = formatter;
+  }
+
+  @Override
+  public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+      throws JsonMappingException {
+    JsonFormat.Value format = findFormatOverrides(provider, property, handledType());
+    Matcher matcher = format.hasPattern() ? ISO_PATTERN.matcher(format.getPattern()) : null;
+    if (matcher == null || !matcher.matches()) {
+      return LocalDateTimeSerializer.INSTANCE.createContextual(provider, property);
+    }
+    int digits = matcher.group(1) == null ? 0 : matcher.group(1).length();
+    return new IsoLocalDateTimeSerializer(digits, DateTimeFormatter.ofPattern(format.getPattern()));
+  }
+
+  @Override
+  public void serialize(LocalDateTime value, JsonGenerator generator, SerializerProvider provider)
+      throws IOException {
+    if (formatter == null) {
+      LocalDateTimeSerializer.INSTANCE.serialize(value, generator, provider);
+      return;
+    }
+    int year = value.getYear();
+    if (year < 0 || year > 9999) {
+      generator.writeString(formatter.format(value));
+      return;
+    }
+
+    char[] buffer = new char[fractionDigits == 0 ? 19 : 20 + fractionDigits];
+    writeDigits(year, 4, buffer, 0);
+    buffer[4] = '-';
+    writeDigits(value.getMonthValue(), 2, buffer, 5);
+    buffer[7] = '-';
+    writeDigits(value.getDayOfMonth(), 2, buffer, 8);
+    buffer[10] = 'T';
+    writeDigits(value.getHour(), 2, buffer, 11);
+    buffer[13] = ':';
+    writeDigits(value.getMinute(), 2, buffer, 14);
+    buffer[16] = ':';
+    writeDigits(value.getSecond(), 2, buffer, 17);
+    if (fractionDigits > 0) {
+      buffer[19] = '.';
+      writeDigits(value.getNano() / POWERS_OF_TEN[9 - fractionDigits], fractionDigits, buffer, 20);
+    }
+    generator.writeString(buffer, 0, buffer.length);
+  }
+
+  private static void writeDigits(int value, int digits, char[] buffer, int offset) {
+    for (int i = offset + digits - 1; i >= offset; i--) {
+      buffer[i] = (char) ('0' + value % 10);
+      value /= 10;
+    }
+  }
+}
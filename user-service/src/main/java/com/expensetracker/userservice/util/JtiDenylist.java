@@ -0,0 +1,102 @@
+package com.expensetracker.userservice.util;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Ids of revoked access tokens, each kept only until its token would have expired anyway, so a
+ * request is checked with a single hash probe. Expiry runs on a timer wheel: a jti is filed in the
+ * slot of the tick its token expires in and each tick drains one slot, so cleanup cost follows what
+ * expires rather than the size of the list. The wheel spans the access token lifetime, so an entry
+ * is normally visited once; later revolutions are kept for their own tick.
+ */
+@Component
+public class JtiDenylist {
+
+  private final long tickMs;
+  private final Set<UUID> revoked = ConcurrentHashMap.newKeySet();
+  private final List<ConcurrentLinkedQueue<Entry>> wheel;
+
+  // Only advanced by the scheduled tick
+  private long currentTick;
+
+  public JtiDenylist(
+      @Value("${app.jwt.expiration-ms}") long tokenLifetimeMs,
+      @Value("${app.jwt.denylist.tick-ms:1000}") long tickMs) {
+    this.tickMs = tickMs;
+    this.wheel =
+        Stream.generate(ConcurrentLinkedQueue<Entry>::new)
+            .limit(tokenLifetimeMs / tickMs + 2)
+            .toList();
+    this.currentTick = System.currentTimeMillis() / tickMs;
+  }
+
+  /** Deny a token until its expiration time */
+  public void revoke(UUID jti, long expiresAtMs) {
+    if (expiresAtMs > System.currentTimeMillis() && revoked.add(jti)) {
+      // The first tick that starts after the expiration, so no entry is dropped early
+      long expiryTick = expiresAtMs / tickMs + 1;
+      wheel.get(slot(expiryTick)).add(new Entry(jti, expiryTick));
+    }
+  }
+
+  public boolean isRevoked(UUID jti) {
+    return revoked.contains(jti);
+  }
+
+  /** Check the jti claim of a verified token; tokens without one cannot be revoked this way */
+  public boolean isRevoked(Claims claims) {
+    String jti = claims.getId();
+    return jti != null && !revoked.isEmpty() && revoked.contains(UUID.fromString(jti));
+  }
+
+  public int size() {
+    return revoked.size();
+  }
+
+  @Scheduled(fixedRateString = "${app.jwt.denylist.tick-ms:1000}")
+  public void tick() {
+    advanceTo(System.currentTimeMillis());
+  }
+
+  void advanceTo(long nowMs) {
+    long nowTick = nowMs / tickMs;
+    // One revolution visits every slot, so a long pause never needs more
+    long from = Math.max(currentTick, nowTick - wheel.size() + 1);
+    for (long tick = from; tick <= nowTick; tick++) {
+      drain(tick, nowTick);
+    }
+    currentTick = nowTick + 1;
+  }
+
+  private void drain(long tick, long nowTick) {
+    ConcurrentLinkedQueue<Entry> slot = wheel.get(slot(tick));
+    for (int remaining = slot.size(); remaining > 0; remaining--) {
+      Entry entry = slot.poll();
+      if (entry == null) {
+        return;
+      }
+      if (entry.expiryTick() <= nowTick) {
+        revoked.remove(entry.jti());
+      } else {
+        slot.add(entry);
+      }
+    }
+  }
+
+  private int slot(long tick) {
+    return (int) Math.floorMod(tick, (long) wheel.size());
+  }
+
+  private record Entry(UUID jti, long expiryTick) {}
+}
@@ -1,15 +1,12 @@
 package com.expensetracker.userservice.util;
 
 import java.io.IOException;
-import java.time.LocalDateTime;
 
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.web.access.AccessDeniedHandler;
 import org.springframework.stereotype.Component;
 
-import com.expensetracker.userservice.dto.response.ErrorResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.servlet.ServletException;
@@ -19,24 +16,18 @@ import jakarta.servlet.http.HttpServletResponse;
 @Component
 public class JwtAccessDeniedHandler implements AccessDeniedHandler {
 
-  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final ErrorResponseTemplate forbidden;
+
+  public JwtAccessDeniedHandler(ObjectMapper objectMapper) {
+    this.forbidden =
+        ErrorResponseTemplate.of(
+            objectMapper, HttpStatus.FORBIDDEN, "Access denied to this resource");
+  }
 
   @Override
   public void handle(
       HttpServletRequest request, HttpServletResponse response, AccessDeniedException ex)
       throws IOException, ServletException {
-    response.setStatus(HttpStatus.FORBIDDEN.value());
-    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-
-    ErrorResponse errorResponse =
-        ErrorResponse.builder()
-            .timestamp(LocalDateTime.now())
-            .status(HttpStatus.FORBIDDEN.value())
-            .error("Forbidden")
-            .message("Access denied to this resource")
-            .path(request.getRequestURI())
-            .build();
-
-    objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    forbidden.write(response, request.getRequestURI());
   }
 }
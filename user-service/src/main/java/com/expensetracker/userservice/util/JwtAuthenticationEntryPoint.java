@@ -1,27 +1,30 @@
 package com.expensetracker.userservice.util;
 
 import java.io.IOException;
-import java.time.LocalDateTime;
 
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.stereotype.Component;
 
-import com.expensetracker.userservice.dto.response.ErrorResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationEntryPoint implements AuthenticationEntryPoint {
 
-  private final ObjectMapper objectMapper;
+  private final ErrorResponseTemplate unauthorized;
+
+  public JwtAuthenticationEntryPoint(ObjectMapper objectMapper) {
+    this.unauthorized =
+        ErrorResponseTemplate.of(
+            objectMapper,
+            HttpStatus.UNAUTHORIZED,
+            "Authentication required to access this resource");
+  }
 
   @Override
   public void commence(
@@ -29,18 +32,6 @@ public class JwtAuthenticationEntryPoint implements AuthenticationEntryPoint {
       HttpServletResponse response,
       AuthenticationException authException)
       throws IOException, ServletException {
-    response.setStatus(HttpStatus.UNAUTHORIZED.value());
-    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-
-    ErrorResponse errorResponse =
-        ErrorResponse.builder()
-            .timestamp(LocalDateTime.now())
-            .status(HttpStatus.UNAUTHORIZED.value())
-            .error("Unauthorized")
-            .message("Authentication required to access this resource")
-            .path(request.getRequestURI())
-            .build();
-
-    objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    unauthorized.write(response, request.getRequestURI());
   }
 }
@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -13,6 +14,9 @@ import org.springframework.util.AntPathMatcher;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.expensetracker.userservice.util.UserMetrics.TokenOutcome;
+
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,12 +29,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
   private final JwtTokenProvider jwtTokenProvider;
   private final CustomUserDetailsService userDetailsService;
+  private final TokenVersionRegistry tokenVersionRegistry;
+  private final JtiDenylist jtiDenylist;
+  private final UserMetrics userMetrics;
+
+  // Build the principal from token claims instead of loading the user on every request
+  @Value("${app.jwt.stateless-authentication:true}")
+  private boolean statelessAuthentication;
 
   // List of public endpoints that don't require authentication
   private final List<String> PUBLIC_ENDPOINTS =
       Arrays.asList(
           "/api/v1/users/register",
           "/api/v1/users/login",
+          "/api/v1/users/availability",
+          "/api/v1/users/token/refresh",
+          "/api/v1/users/logout",
+          "/.well-known/jwks.json",
           "/v3/api-docs/**",
           "/swagger-ui/**",
           "/swagger-ui.html",
@@ -54,16 +69,31 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
       // Get JWT token from request
       String token = getTokenFromRequest(request);
 
-      // If token exists, validate it
-      if (StringUtils.hasText(token) && jwtTokenProvider.validateToken(token)) {
-        String username = jwtTokenProvider.getUsernameFromToken(token);
-        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+      // If token exists, verify it once and read the username from its claims
+      if (StringUtils.hasText(token)) {
+        long start = System.nanoTime();
+        Claims claims = jwtTokenProvider.verifyToken(token);
+        TokenOutcome outcome =
+            claims == null
+                ? TokenOutcome.INVALID
+                : tokenVersionRegistry.isCurrent(claims) && !jtiDenylist.isRevoked(claims)
+                    ? TokenOutcome.VALID
+                    : TokenOutcome.REVOKED;
+
+        if (outcome == TokenOutcome.VALID) {
+          UserDetails userDetails =
+              statelessAuthentication ? jwtTokenProvider.getPrincipalFromClaims(claims) : null;
+          if (userDetails == null) {
+            userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+          }
 
-        UsernamePasswordAuthenticationToken authToken =
-            new UsernamePasswordAuthenticationToken(
-                userDetails, null, userDetails.getAuthorities());
-        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-        SecurityContextHolder.getContext().setAuthentication(authToken);
+          UsernamePasswordAuthenticationToken authToken =
+              new UsernamePasswordAuthenticationToken(
+                  userDetails, null, userDetails.getAuthorities());
+          authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+          SecurityContextHolder.getContext().setAuthentication(authToken);
+        }
+        userMetrics.recordTokenVerification(outcome, start);
       }
 
       filterChain.doFilter(request, response);
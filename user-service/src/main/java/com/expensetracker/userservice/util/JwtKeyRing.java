@@ -0,0 +1,98 @@
+package com.expensetracker.userservice.util;
+
+import java.security.PublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.Jwks;
+
+/**
+ * The signing keys currently in use. A key is published in the JWKS as soon as it is added but only
+ * signs tokens once the activation delay has passed, so consumers refreshing their JWKS cache in
+ * that window already know it before the first token carrying its kid arrives.
+ */
+@Component
+public class JwtKeyRing {
+
+  private final Duration activationDelay;
+
+  private volatile State state = new State(List.of(), Map.of(), Map.of("keys", List.of()));
+
+  public JwtKeyRing(@Value("${app.jwt.keys.activation-delay-ms}") long activationDelayMs) {
+    this.activationDelay = Duration.ofMillis(activationDelayMs);
+  }
+
+  /** Generate a key pair with its RFC 7638 thumbprint as kid */
+  public static JwtSigningKey generateKey() {
+    var keyPair = Jwts.SIG.ES256.keyPair().build();
+    String kid = Jwks.builder().key(keyPair.getPublic()).idFromThumbprint().build().getId();
+    return new JwtSigningKey(kid, keyPair.getPrivate(), keyPair.getPublic(), Instant.now());
+  }
+
+  /** Replace the key set, e.g. after loading it from the database */
+  public void replace(Collection<JwtSigningKey> keys) {
+    List<JwtSigningKey> sorted =
+        keys.stream().sorted(Comparator.comparing(JwtSigningKey::createdAt).reversed()).toList();
+    Map<String, PublicKey> publicKeys =
+        sorted.stream()
+            .collect(Collectors.toUnmodifiableMap(JwtSigningKey::kid, JwtSigningKey::publicKey));
+    Map<String, List<Jwk<?>>> jwks = Map.of("keys", sorted.stream().map(this::toJwk).toList());
+    state = new State(sorted, publicKeys, jwks);
+  }
+
+  /** The newest key past its activation delay, or the oldest key while none is (first start) */
+  public JwtSigningKey signingKey() {
+    List<JwtSigningKey> keys = state.keys();
+    if (keys.isEmpty()) {
+      throw new IllegalStateException("No JWT signing key has been loaded");
+    }
+    Instant activeBefore = Instant.now().minus(activationDelay);
+    return keys.stream()
+        .filter(key -> !key.createdAt().isAfter(activeBefore))
+        .findFirst()
+        .orElseGet(() -> keys.get(keys.size() - 1));
+  }
+
+  /** Public key for a token's kid, or {@code null} if the kid is unknown */
+  public PublicKey findPublicKey(String kid) {
+    return kid == null ? null : state.publicKeys().get(kid);
+  }
+
+  /** Keys newest first */
+  public List<JwtSigningKey> keys() {
+    return state.keys();
+  }
+
+  /** Public keys as a JWK set document */
+  public Map<String, List<Jwk<?>>> jwks() {
+    return state.jwks();
+  }
+
+  public Duration getActivationDelay() {
+    return activationDelay;
+  }
+
+  private Jwk<?> toJwk(JwtSigningKey key) {
+    return Jwks.builder()
+        .key(key.publicKey())
+        .id(key.kid())
+        .publicKeyUse("sig")
+        .algorithm(Jwts.SIG.ES256.getId())
+        .build();
+  }
+
+  private record State(
+      List<JwtSigningKey> keys,
+      Map<String, PublicKey> publicKeys,
+      Map<String, List<Jwk<?>>> jwks) {}
+}
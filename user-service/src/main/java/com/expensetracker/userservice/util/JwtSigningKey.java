@@ -0,0 +1,9 @@
+package com.expensetracker.userservice.util;
+
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.time.Instant;
+
+/** An ES256 key pair, identified in token headers and the JWKS by its kid */
+public record JwtSigningKey(
+    String kid, PrivateKey privateKey, PublicKey publicKey, Instant createdAt) {}
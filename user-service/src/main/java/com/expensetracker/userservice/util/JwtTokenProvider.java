@@ -1,44 +1,127 @@
 package com.expensetracker.userservice.util;
 
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
-import javax.crypto.SecretKey;
-
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import com.expensetracker.userservice.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
 
 @Component
 public class JwtTokenProvider {
 
-  @Value("${app.jwt.secret}")
-  private String jwtSecret;
-
-  @Value("${app.jwt.expiration-ms}")
-  private long jwtExpirationMs;
+  public static final String ID_CLAIM = "id";
+  public static final String USERNAME_CLAIM = "username";
+  public static final String ROLES_CLAIM = "roles";
+  public static final String TOKEN_VERSION_CLAIM = "ver";
+
+  private final long jwtExpirationMs;
+  private final JwtKeyRing keyRing;
+  private final JwtParser jwtParser;
+  private final UserRoles userRoles;
+
+  // Already-verified tokens keyed by SHA-256 digest, each entry expiring at the token's exp
+  private final Cache<String, Claims> verifiedTokens;
+  private final boolean verifiedTokenCacheEnabled;
+
+  public JwtTokenProvider(
+      JwtKeyRing keyRing,
+      @Value("${app.jwt.expiration-ms}") long jwtExpirationMs,
+      @Value("${app.jwt.cache.enabled:true}") boolean verifiedTokenCacheEnabled,
+      @Value("${app.jwt.cache.max-size:10000}") long verifiedTokenCacheMaxSize,
+      UserRoles userRoles) {
+    this.jwtExpirationMs = jwtExpirationMs;
+    this.userRoles = userRoles;
+    this.keyRing = keyRing;
+    // Only the ring's public keys verify, looked up by the kid in the token header
+    this.jwtParser = Jwts.parser().keyLocator(new KidLocator(keyRing)).build();
+    this.verifiedTokenCacheEnabled = verifiedTokenCacheEnabled;
+    this.verifiedTokens =
+        Caffeine.newBuilder()
+            .maximumSize(verifiedTokenCacheMaxSize)
+            .expireAfter(new ExpireAtTokenExpiration())
+            .recordStats()
+            .build();
+  }
 
   public String generateToken(User user) {
     Map<String, Object> claims = new HashMap<>();
-    claims.put("id", user.getId().toString());
-    claims.put("username", user.getUsername());
+    claims.put(ID_CLAIM, user.getId().toString());
+    claims.put(USERNAME_CLAIM, user.getUsername());
+    claims.put(ROLES_CLAIM, userRoles.of(user.getUsername()));
+    claims.put(TOKEN_VERSION_CLAIM, user.getTokenVersion());
 
+    JwtSigningKey signingKey = keyRing.signingKey();
     return Jwts.builder()
+        .header()
+        .keyId(signingKey.kid())
+        .and()
         .claims(claims)
         .subject(user.getUsername())
+        .id(UUID.randomUUID().toString())
         .issuedAt(new Date())
         .expiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
-        .signWith(getSigningKey())
+        .signWith(signingKey.privateKey(), Jwts.SIG.ES256)
         .compact();
   }
 
+  /**
+   * Verify the token signature and expiration in a single parse and return its claims, or {@code
+   * null} if the token is not valid. Tokens that were verified before are served from the cache.
+   */
+  public Claims verifyToken(String token) {
+    if (!verifiedTokenCacheEnabled) {
+      return parseClaims(token);
+    }
+
+    String key = digest(token);
+    Claims claims = verifiedTokens.getIfPresent(key);
+    if (claims != null) {
+      return claims;
+    }
+
+    claims = parseClaims(token);
+    if (claims != null && claims.getExpiration() != null) {
+      verifiedTokens.put(key, claims);
+    }
+    return claims;
+  }
+
+  /** Build the request principal from verified claims, or {@code null} if they lack the roles */
+  public JwtUserPrincipal getPrincipalFromClaims(Claims claims) {
+    List<?> roles = claims.get(ROLES_CLAIM, List.class);
+    String id = claims.get(ID_CLAIM, String.class);
+    if (roles == null || id == null) {
+      return null;
+    }
+
+    List<SimpleGrantedAuthority> authorities =
+        roles.stream().map(role -> new SimpleGrantedAuthority(role.toString())).toList();
+    return new JwtUserPrincipal(UUID.fromString(id), claims.getSubject(), authorities);
+  }
+
+  public long getExpirationSeconds() {
+    return TimeUnit.MILLISECONDS.toSeconds(jwtExpirationMs);
+  }
+
   public String getUsernameFromToken(String token) {
     return getClaimFromToken(token, Claims::getSubject);
   }
@@ -53,25 +136,68 @@ public class JwtTokenProvider {
   }
 
   private Claims getAllClaimsFromToken(String token) {
-    return Jwts.parser().verifyWith(getSigningKey()).build().parseSignedClaims(token).getPayload();
+    return jwtParser.parseSignedClaims(token).getPayload();
   }
 
-  private Boolean isTokenExpired(String token) {
-    final Date expiration = getExpirationDateFromToken(token);
-    return expiration.before(new Date());
+  public boolean validateToken(String token) {
+    return verifyToken(token) != null;
   }
 
-  public boolean validateToken(String token) {
+  /** Hit and miss counters of the verified token cache */
+  public CacheStats getVerifiedTokenCacheStats() {
+    return verifiedTokens.stats();
+  }
+
+  private Claims parseClaims(String token) {
     try {
-      Jwts.parser().verifyWith(getSigningKey()).build().parseSignedClaims(token);
-      return true;
+      return getAllClaimsFromToken(token);
     } catch (Exception ex) {
-      return false;
+      return null;
+    }
+  }
+
+  private static String digest(String token) {
+    try {
+      byte[] hash =
+          MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+      return Base64.getEncoder().withoutPadding().encodeToString(hash);
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 is not available", ex);
+    }
+  }
+
+  private static class KidLocator extends LocatorAdapter<Key> {
+
+    private final JwtKeyRing keyRing;
+
+    KidLocator(JwtKeyRing keyRing) {
+      this.keyRing = keyRing;
+    }
+
+    @Override
+    protected Key locate(JwsHeader header) {
+      return keyRing.findPublicKey(header.getKeyId());
     }
   }
 
-  private SecretKey getSigningKey() {
-    byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-    return Keys.hmacShaKeyFor(keyBytes);
+  // Expire each cached entry at the exp claim of its token
+  private static class ExpireAtTokenExpiration implements Expiry<String, Claims> {
+
+    @Override
+    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+      long remainingMs = claims.getExpiration().getTime() - System.currentTimeMillis();
+      return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        String key, Claims claims, long currentTime, long currentDuration) {
+      return expireAfterCreate(key, claims, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
   }
 }
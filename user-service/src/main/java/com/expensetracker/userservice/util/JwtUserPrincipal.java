@@ -0,0 +1,25 @@
+package com.expensetracker.userservice.util;
+
+import java.util.Collection;
+import java.util.UUID;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** Principal built only from the verified claims of an access token */
+@Getter
+@AllArgsConstructor
+public class JwtUserPrincipal implements UserDetails {
+
+  private final UUID id;
+  private final String username;
+  private final Collection<? extends GrantedAuthority> authorities;
+
+  @Override
+  public String getPassword() {
+    return null;
+  }
+}
@@ -0,0 +1,62 @@
+package com.expensetracker.userservice.util;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Remembers who wrote recently so their own reads within the window are served by the primary
+ * rather than a replica that may not have replayed the write yet. Only writes made through this
+ * instance are known, so a read that finds nothing on a replica is repeated on the primary to cover
+ * writes made elsewhere. Without replicas reads are passed straight through.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+  private final boolean replicated;
+  private final Cache<Object, Boolean> recentWriters;
+
+  public ReadYourWritesTracker(
+      DataSource dataSource,
+      @Value("${app.datasource.replicas.read-your-writes.window:5s}") Duration window,
+      @Value("${app.datasource.replicas.read-your-writes.max-subjects:100000}") long maxSubjects)
+      throws SQLException {
+    this.replicated = dataSource.isWrapperFor(ReplicaRoutingDataSource.class);
+    this.recentWriters =
+        Caffeine.newBuilder().maximumSize(maxSubjects).expireAfterWrite(window).build();
+  }
+
+  /** Record a write made on behalf of the given subjects, e.g. a user's id and username */
+  public void recordWrite(Object... subjects) {
+    if (replicated) {
+      for (Object subject : subjects) {
+        recentWriters.put(subject, Boolean.TRUE);
+      }
+    }
+  }
+
+  public boolean wroteRecently(Object subject) {
+    return replicated && recentWriters.getIfPresent(subject) != null;
+  }
+
+  /** Read data owned by a subject, from the primary if the subject wrote within the window */
+  public <T> Optional<T> read(Object subject, Supplier<Optional<T>> reader) {
+    if (!replicated) {
+      return reader.get();
+    }
+    if (wroteRecently(subject)) {
+      return ReplicaRoutingDataSource.onPrimary(reader);
+    }
+    Optional<T> result = reader.get();
+    return result.isPresent() ? result : ReplicaRoutingDataSource.onPrimary(reader);
+  }
+}
@@ -0,0 +1,29 @@
+package com.expensetracker.userservice.util;
+
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/** Measures replica lag so the routing data source only reads from replicas that are caught up */
+@Component
+public class ReplicaLagMonitor {
+
+  private final ReplicaRoutingDataSource routingDataSource;
+
+  public ReplicaLagMonitor(DataSource dataSource) throws SQLException {
+    this.routingDataSource =
+        dataSource.isWrapperFor(ReplicaRoutingDataSource.class)
+            ? dataSource.unwrap(ReplicaRoutingDataSource.class)
+            : null;
+  }
+
+  @Scheduled(fixedDelayString = "${app.datasource.replicas.lag-check-interval-ms:1000}")
+  public void checkLag() {
+    if (routingDataSource != null) {
+      routingDataSource.checkLag();
+    }
+  }
+}
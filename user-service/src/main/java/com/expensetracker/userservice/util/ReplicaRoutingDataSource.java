@@ -0,0 +1,168 @@
+package com.expensetracker.userservice.util;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to the replicas in turn and everything else to the primary. A
+ * replica is skipped while its last measured replication lag exceeds the limit or could not be
+ * measured, and reads fall back to the primary when no replica qualifies. Wrap it in a {@link
+ * org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so the connection is only
+ * chosen once the transaction's read-only flag is known.
+ */
+public final class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+  public static final String PRIMARY = "primary";
+
+  private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+  // Zero when the replica has replayed everything it received from a live stream, otherwise the
+  // age of the last replayed transaction. A server that is not in recovery is its own primary.
+  private static final String LAG_QUERY =
+      """
+      SELECT CASE
+        WHEN NOT pg_is_in_recovery() THEN 0
+        WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn()
+          AND EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN 0
+        ELSE COALESCE(
+          (EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000)::bigint,
+          9223372036854775807)
+      END
+      """;
+
+  private final DataSource primary;
+  private final List<Replica> replicas;
+  private final long maxLagMs;
+  private final AtomicInteger next = new AtomicInteger();
+
+  public ReplicaRoutingDataSource(
+      DataSource primary, Map<String, DataSource> replicas, long maxLagMs) {
+    this.primary = primary;
+    this.replicas =
+        replicas.entrySet().stream()
+            .map(entry -> new Replica(entry.getKey(), entry.getValue()))
+            .toList();
+    this.maxLagMs = maxLagMs;
+
+    Map<Object, Object> targets = new HashMap<>(replicas);
+    targets.put(PRIMARY, primary);
+    setTargetDataSources(targets);
+    setDefaultTargetDataSource(primary);
+    setLenientFallback(false);
+    afterPropertiesSet();
+  }
+
+  /** Run work with every read on this thread served by the primary */
+  public static <T> T onPrimary(Supplier<T> work) {
+    Boolean previous = PINNED_TO_PRIMARY.get();
+    PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    try {
+      return work.get();
+    } finally {
+      if (previous == null) {
+        PINNED_TO_PRIMARY.remove();
+      } else {
+        PINNED_TO_PRIMARY.set(previous);
+      }
+    }
+  }
+
+  /**
+   * A replica that cannot hand out a connection is taken out of rotation until its next successful
+   * lag check, and the read is served by the primary instead of failing.
+   */
+  @Override
+  public Connection getConnection() throws SQLException {
+    Replica replica = selectReplica();
+    if (replica != null) {
+      try {
+        return replica.dataSource.getConnection();
+      } catch (SQLException ex) {
+        replica.lagMs = Long.MAX_VALUE;
+      }
+    }
+    return primary.getConnection();
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    Replica replica = selectReplica();
+    return replica == null ? PRIMARY : replica.name;
+  }
+
+  // Next caught-up replica for a read-only transaction, null when the primary should serve it
+  private Replica selectReplica() {
+    if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+        || PINNED_TO_PRIMARY.get() != null) {
+      return null;
+    }
+    int size = replicas.size();
+    int start = Math.floorMod(next.getAndIncrement(), size);
+    for (int i = 0; i < size; i++) {
+      Replica replica = replicas.get((start + i) % size);
+      if (replica.lagMs <= maxLagMs) {
+        return replica;
+      }
+    }
+    return null;
+  }
+
+  /** Measure the lag of every replica; one that cannot be reached is taken out of rotation */
+  public void checkLag() {
+    for (Replica replica : replicas) {
+      try (Connection connection = replica.dataSource.getConnection();
+          Statement statement = connection.createStatement();
+          ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+        replica.lagMs = resultSet.next() ? resultSet.getLong(1) : Long.MAX_VALUE;
+      } catch (SQLException ex) {
+        replica.lagMs = Long.MAX_VALUE;
+      }
+    }
+  }
+
+  /** The primary followed by the replicas, by name */
+  public Map<String, DataSource> getTargets() {
+    Map<String, DataSource> targets = new LinkedHashMap<>();
+    targets.put(PRIMARY, primary);
+    replicas.forEach(replica -> targets.put(replica.name, replica.dataSource));
+    return targets;
+  }
+
+  public List<String> getReplicaNames() {
+    return replicas.stream().map(replica -> replica.name).toList();
+  }
+
+  /** Last measured lag in milliseconds, or Long.MAX_VALUE when unknown or unreachable */
+  public long getReplicaLagMs(String name) {
+    return replicas.stream()
+        .filter(replica -> replica.name.equals(name))
+        .mapToLong(replica -> replica.lagMs)
+        .findFirst()
+        .orElse(Long.MAX_VALUE);
+  }
+
+  private static final class Replica {
+    private final String name;
+    private final DataSource dataSource;
+    // Unusable until the first check
+    private volatile long lagMs = Long.MAX_VALUE;
+
+    private Replica(String name, DataSource dataSource) {
+      this.name = name;
+      this.dataSource = dataSource;
+    }
+  }
+}
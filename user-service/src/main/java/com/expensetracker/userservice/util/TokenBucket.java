@@ -0,0 +1,90 @@
+package com.expensetracker.userservice.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket with exponential back-off after consecutive failures. The bucket and the failure
+ * state are each packed into a single {@link AtomicLong} and updated by compare-and-set, so
+ * concurrent attempts on the same key never block each other.
+ */
+public class TokenBucket {
+
+  // Times are stored in milliseconds since 2020-01-01 so they fit the packed fields
+  private static final long ORIGIN = 1577836800000L;
+
+  // Bucket: milli-tokens in the high 22 bits, last refill time in the low 42 bits
+  private static final int REFILL_TIME_BITS = 42;
+  private static final long REFILL_TIME_MASK = (1L << REFILL_TIME_BITS) - 1;
+  private static final long MAX_CAPACITY = ((1L << (64 - REFILL_TIME_BITS)) - 1) / 1000;
+
+  // Failures: consecutive failure count in the high 16 bits, blocked-until time in the low 48 bits
+  private static final int BLOCKED_UNTIL_BITS = 48;
+  private static final long BLOCKED_UNTIL_MASK = (1L << BLOCKED_UNTIL_BITS) - 1;
+  private static final long MAX_FAILURES = (1L << (64 - BLOCKED_UNTIL_BITS)) - 1;
+
+  private final long capacityMilli;
+  private final double refillMilliPerMs;
+  private final AtomicLong bucket;
+  private final AtomicLong failures = new AtomicLong();
+
+  public TokenBucket(long capacity, double refillPerSecond, long nowMs) {
+    if (capacity < 1 || capacity > MAX_CAPACITY || refillPerSecond <= 0) {
+      throw new IllegalArgumentException(
+          "Capacity must be between 1 and " + MAX_CAPACITY + " and the refill rate positive");
+    }
+    this.capacityMilli = capacity * 1000;
+    this.refillMilliPerMs = refillPerSecond;
+    this.bucket = new AtomicLong(pack(capacityMilli, nowMs - ORIGIN));
+  }
+
+  /** Take one token; returns 0 on success, otherwise the milliseconds until one is available */
+  public long tryAcquire(long nowMs) {
+    long now = nowMs - ORIGIN;
+    while (true) {
+      long state = bucket.get();
+      long elapsed = Math.max(0, now - (state & REFILL_TIME_MASK));
+      long tokens =
+          Math.min(
+              capacityMilli, (state >>> REFILL_TIME_BITS) + (long) (elapsed * refillMilliPerMs));
+      if (tokens < 1000) {
+        return (long) Math.ceil((1000 - tokens) / refillMilliPerMs);
+      }
+      if (bucket.compareAndSet(state, pack(tokens - 1000, now))) {
+        return 0;
+      }
+    }
+  }
+
+  /** Milliseconds until the back-off after recent failures ends, or 0 */
+  public long backoffRemaining(long nowMs) {
+    return Math.max(0, (failures.get() & BLOCKED_UNTIL_MASK) - (nowMs - ORIGIN));
+  }
+
+  /**
+   * Count a failed attempt. After {@code freeFailures} consecutive failures every further one
+   * blocks the key for {@code baseMs} doubled per failure, capped at {@code maxMs}.
+   */
+  public void recordFailure(long nowMs, int freeFailures, long baseMs, long maxMs) {
+    long now = nowMs - ORIGIN;
+    while (true) {
+      long state = failures.get();
+      long count = Math.min(MAX_FAILURES, (state >>> BLOCKED_UNTIL_BITS) + 1);
+      long blockedUntil = state & BLOCKED_UNTIL_MASK;
+      if (count > freeFailures) {
+        int doublings = (int) Math.min(count - freeFailures - 1, 30);
+        blockedUntil = now + Math.min(maxMs, baseMs << doublings);
+      }
+      if (failures.compareAndSet(state, (count << BLOCKED_UNTIL_BITS) | blockedUntil)) {
+        return;
+      }
+    }
+  }
+
+  public void recordSuccess() {
+    failures.set(0);
+  }
+
+  private static long pack(long tokensMilli, long refillTime) {
+    return (tokensMilli << REFILL_TIME_BITS) | (refillTime & REFILL_TIME_MASK);
+  }
+}
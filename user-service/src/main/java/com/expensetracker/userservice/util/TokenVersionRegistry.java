@@ -0,0 +1,62 @@
+package com.expensetracker.userservice.util;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.expensetracker.userservice.repository.TokenVersionView;
+import com.expensetracker.userservice.repository.UserRepository;
+
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * In-memory table of the current token version per user. Tokens carry the version they were issued
+ * with, so revocation is checked without a database round trip. Only users that revoked their
+ * tokens at least once are kept, and the table is refreshed incrementally from rows updated since
+ * the last pass.
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenVersionRegistry {
+
+  private final UserRepository userRepository;
+  private final Map<UUID, Integer> tokenVersions = new ConcurrentHashMap<>();
+  private final Watermark<LocalDateTime> watermark = Watermark.ofLocalDateTimes();
+
+  /** Check the token version claim of a verified token against the table */
+  public boolean isCurrent(Claims claims) {
+    String id = claims.get(JwtTokenProvider.ID_CLAIM, String.class);
+    if (id == null) {
+      return true;
+    }
+    Integer tokenVersion = claims.get(JwtTokenProvider.TOKEN_VERSION_CLAIM, Integer.class);
+    return isCurrent(UUID.fromString(id), tokenVersion == null ? 0 : tokenVersion);
+  }
+
+  public boolean isCurrent(UUID userId, int tokenVersion) {
+    return tokenVersion >= tokenVersions.getOrDefault(userId, 0);
+  }
+
+  /** Current token version of a user, which new tokens must be issued with */
+  public int currentVersion(UUID userId, int tokenVersion) {
+    return Math.max(tokenVersion, tokenVersions.getOrDefault(userId, 0));
+  }
+
+  /** Record a version bump made by this instance without waiting for the next refresh */
+  public void update(UUID userId, int tokenVersion) {
+    tokenVersions.merge(userId, tokenVersion, Math::max);
+  }
+
+  @Scheduled(fixedDelayString = "${app.jwt.token-version.refresh-interval-ms:5000}")
+  public void refresh() {
+    watermark.poll(
+        since -> userRepository.findRevokedUpdatedAfter(since).stream(),
+        TokenVersionView::getUpdatedAt,
+        view -> update(view.getId(), view.getTokenVersion()));
+  }
+}
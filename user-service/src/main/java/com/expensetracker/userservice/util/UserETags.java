@@ -0,0 +1,44 @@
+package com.expensetracker.userservice.util;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Enumeration;
+
+import org.springframework.http.ETag;
+import org.springframework.http.MediaType;
+
+import com.expensetracker.userservice.dto.UserDTO;
+
+/**
+ * Strong ETags for user representations, derived from the id and updatedAt so they change with
+ * every update and can be computed from a cached UserDTO without loading the row. The JSON, Smile
+ * and CBOR bodies of one version are different bytes, so the tag also names the body format.
+ */
+public final class UserETags {
+
+  private UserETags() {}
+
+  public static ETag of(UserDTO user, MediaType format) {
+    LocalDateTime updatedAt =
+        user.getUpdatedAt() != null ? user.getUpdatedAt() : user.getCreatedAt();
+    // Postgres keeps microseconds, so a freshly saved entity and a reloaded one tag the same
+    long micros =
+        updatedAt == null
+            ? 0
+            : updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + updatedAt.getNano() / 1_000;
+    String suffix = format.getSubtype().replace("x-jackson-", "");
+    return new ETag(user.getId() + "-" + Long.toHexString(micros) + "-" + suffix, false);
+  }
+
+  /** Whether any If-None-Match header value matches the tag, using weak comparison (RFC 9110). */
+  public static boolean matchesAny(ETag etag, Enumeration<String> ifNoneMatch) {
+    while (ifNoneMatch != null && ifNoneMatch.hasMoreElements()) {
+      for (ETag candidate : ETag.parse(ifNoneMatch.nextElement())) {
+        if (candidate.isWildcard() || etag.compare(candidate, false)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+}
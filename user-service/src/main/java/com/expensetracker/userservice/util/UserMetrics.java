@@ -0,0 +1,75 @@
+package com.expensetracker.userservice.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Timers for the phases of login and registration, and JWT verification meters. Every meter is
+ * registered up front and recorded from a {@code System.nanoTime()} start, so the request path
+ * never looks meters up or allocates to record.
+ */
+@Component
+public class UserMetrics {
+
+  public enum Phase {
+    LOGIN_LOOKUP("user.login.phase", "lookup"),
+    LOGIN_VERIFY("user.login.phase", "verify"),
+    LOGIN_REFRESH_TOKEN("user.login.phase", "refresh_token"),
+    LOGIN_SIGN("user.login.phase", "sign"),
+    REGISTER_HASH("user.register.phase", "hash"),
+    REGISTER_INSERT("user.register.phase", "insert");
+
+    private final String meterName;
+    private final String tag;
+
+    Phase(String meterName, String tag) {
+      this.meterName = meterName;
+      this.tag = tag;
+    }
+  }
+
+  public enum TokenOutcome {
+    VALID,
+    INVALID,
+    REVOKED
+  }
+
+  private final Timer[] phaseTimers = new Timer[Phase.values().length];
+  private final Timer tokenVerificationTimer;
+  private final Counter[] tokenOutcomeCounters = new Counter[TokenOutcome.values().length];
+
+  public UserMetrics(MeterRegistry meterRegistry) {
+    for (Phase phase : Phase.values()) {
+      phaseTimers[phase.ordinal()] =
+          Timer.builder(phase.meterName)
+              .description("Time spent in each phase of a login or registration")
+              .tag("phase", phase.tag)
+              .register(meterRegistry);
+    }
+    this.tokenVerificationTimer =
+        Timer.builder("jwt.verification")
+            .description("Time the authentication filter spends checking a bearer token")
+            .register(meterRegistry);
+    for (TokenOutcome outcome : TokenOutcome.values()) {
+      tokenOutcomeCounters[outcome.ordinal()] =
+          Counter.builder("jwt.verification.outcome")
+              .description("Bearer tokens checked by the authentication filter, by outcome")
+              .tag("outcome", outcome.name().toLowerCase())
+              .register(meterRegistry);
+    }
+  }
+
+  public void record(Phase phase, long startNanos) {
+    phaseTimers[phase.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+  }
+
+  public void recordTokenVerification(TokenOutcome outcome, long startNanos) {
+    tokenVerificationTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    tokenOutcomeCounters[outcome.ordinal()].increment();
+  }
+}
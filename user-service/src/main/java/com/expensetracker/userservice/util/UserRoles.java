@@ -0,0 +1,41 @@
+package com.expensetracker.userservice.util;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Roles granted to a user. Everyone is a USER; the usernames listed in
+ * app.security.admin-usernames, compared ignoring case like the usernames themselves, are also
+ * ADMINs.
+ */
+@Component
+public class UserRoles {
+
+  public static final String USER = "ROLE_USER";
+  public static final String ADMIN = "ROLE_ADMIN";
+
+  private static final List<String> USER_ROLES = List.of(USER);
+  private static final List<String> ADMIN_ROLES = List.of(USER, ADMIN);
+
+  private final Set<String> adminUsernames;
+
+  public UserRoles(@Value("${app.security.admin-usernames:}") Set<String> adminUsernames) {
+    this.adminUsernames =
+        adminUsernames.stream()
+            .map(String::trim)
+            .filter(username -> !username.isEmpty())
+            .map(username -> username.toLowerCase(Locale.ROOT))
+            .collect(Collectors.toUnmodifiableSet());
+  }
+
+  public List<String> of(String username) {
+    return username != null && adminUsernames.contains(username.toLowerCase(Locale.ROOT))
+        ? ADMIN_ROLES
+        : USER_ROLES;
+  }
+}
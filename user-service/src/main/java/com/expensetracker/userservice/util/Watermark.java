@@ -0,0 +1,55 @@
+package com.expensetracker.userservice.util;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Position of a table polled incrementally by a timestamp column. Each pass reads the rows stamped
+ * after the newest stamp seen so far, less {@link #OVERLAP}. Stamps are taken before commit, so a
+ * row can become visible after a row stamped later; the overlap re-reads it as long as it commits
+ * within that window. Rows are therefore seen more than once and must be applied idempotently.
+ */
+public final class Watermark<T extends Comparable<? super T>> {
+
+  public static final Duration OVERLAP = Duration.ofSeconds(30);
+
+  private final AtomicReference<T> latest;
+  private final UnaryOperator<T> minusOverlap;
+
+  private Watermark(T initial, UnaryOperator<T> minusOverlap) {
+    this.latest = new AtomicReference<>(initial);
+    this.minusOverlap = minusOverlap;
+  }
+
+  public static Watermark<Instant> ofInstants() {
+    return new Watermark<>(Instant.EPOCH, instant -> instant.minus(OVERLAP));
+  }
+
+  public static Watermark<LocalDateTime> ofLocalDateTimes() {
+    return new Watermark<>(LocalDateTime.of(1970, 1, 1, 0, 0), dateTime -> dateTime.minus(OVERLAP));
+  }
+
+  /**
+   * Run one pass: query the rows stamped after the watermark less the overlap, apply each and
+   * advance past their stamps. Rows without a stamp are applied but do not move the watermark.
+   */
+  public <R> void poll(Function<T, Stream<R>> query, Function<R, T> stamp, Consumer<R> apply) {
+    try (Stream<R> rows = query.apply(minusOverlap.apply(latest.get()))) {
+      rows.forEach(
+          row -> {
+            apply.accept(row);
+            T rowStamp = stamp.apply(row);
+            if (rowStamp != null) {
+              latest.accumulateAndGet(
+                  rowStamp, (current, next) -> next.compareTo(current) > 0 ? next : current);
+            }
+          });
+    }
+  }
+}
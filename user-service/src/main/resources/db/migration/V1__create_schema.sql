@@ -0,0 +1,72 @@
+-- Initial schema. Written with IF NOT EXISTS so it also adopts a database that was created by
+-- Hibernate's ddl-auto=update before migrations were introduced (see spring.flyway.baseline-*).
+
+CREATE TABLE IF NOT EXISTS users (
+    id            UUID         NOT NULL,
+    username      VARCHAR(255) NOT NULL,
+    email         VARCHAR(255) NOT NULL,
+    password      VARCHAR(255) NOT NULL,
+    token_version INTEGER      NOT NULL DEFAULT 0,
+    created_at    TIMESTAMP(6),
+    updated_at    TIMESTAMP(6),
+    CONSTRAINT users_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS signing_keys (
+    kid                   VARCHAR(255)   NOT NULL,
+    public_key            BYTEA          NOT NULL,
+    encrypted_private_key BYTEA          NOT NULL,
+    created_at            TIMESTAMPTZ(6) NOT NULL,
+    CONSTRAINT signing_keys_pkey PRIMARY KEY (kid)
+);
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id          UUID           NOT NULL,
+    token_hash  VARCHAR(255)   NOT NULL,
+    user_id     UUID           NOT NULL,
+    family_id   UUID           NOT NULL,
+    expires_at  TIMESTAMPTZ(6) NOT NULL,
+    consumed_at TIMESTAMPTZ(6),
+    CONSTRAINT refresh_tokens_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    jti        UUID           NOT NULL,
+    expires_at TIMESTAMPTZ(6) NOT NULL,
+    revoked_at TIMESTAMPTZ(6) NOT NULL,
+    CONSTRAINT revoked_tokens_pkey PRIMARY KEY (jti)
+);
+
+-- Unique constraints generated by ddl-auto=update, including duplicates; replaced by the indexes
+-- below. A fresh database has none.
+DO $$
+DECLARE
+    legacy RECORD;
+BEGIN
+    FOR legacy IN
+        SELECT conrelid::regclass AS table_name, conname
+        FROM pg_constraint
+        WHERE contype = 'u' AND conrelid IN ('users'::regclass, 'refresh_tokens'::regclass)
+    LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', legacy.table_name, legacy.conname);
+    END LOOP;
+END $$;
+
+-- Exact username lookups (the natural id)
+CREATE UNIQUE INDEX IF NOT EXISTS uk_users_username ON users (username);
+-- Usernames and emails are unique regardless of case; availability and email lookups use these
+CREATE UNIQUE INDEX IF NOT EXISTS uk_users_username_ci ON users (lower(username));
+CREATE UNIQUE INDEX IF NOT EXISTS uk_users_email_ci ON users (lower(email));
+-- Incremental scans of newly registered users, in creation order
+CREATE INDEX IF NOT EXISTS idx_users_created_at ON users (created_at);
+-- Incremental scans of users that revoked their tokens; only those rows are indexed
+CREATE INDEX IF NOT EXISTS idx_users_revoked_updated_at ON users (updated_at)
+    WHERE token_version > 0;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_refresh_tokens_token_hash ON refresh_tokens (token_hash);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_family_id ON refresh_tokens (family_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_user_id ON refresh_tokens (user_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
+
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_revoked_at ON revoked_tokens (revoked_at);
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
@@ -0,0 +1,3 @@
+-- Optimistic lock for users. Second-level cache entries can be stale on other instances, so an
+-- update made from one fails instead of overwriting newer columns.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,70 @@
+package com.expensetracker.userservice.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.expensetracker.userservice.dto.UserDTO;
+import com.expensetracker.userservice.service.UserService;
+
+/** Access tokens issued before POST /me/revoke-tokens, sent through the whole filter chain */
+@SpringBootTest
+@AutoConfigureMockMvc
+class RevokeTokensTest {
+
+  private static final String PASSWORD = "Secret123!";
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private UserService userService;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private UserDTO user;
+
+  @BeforeEach
+  void setUp() {
+    String username = "revoke" + UUID.randomUUID().toString().substring(0, 8);
+    user =
+        userService.createUser(
+            new UserDTO(null, username, username + "@example.com", PASSWORD, 0, null, null));
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.update("delete from refresh_tokens where user_id = ?", user.getId());
+    jdbcTemplate.update("delete from users where id = ?", user.getId());
+  }
+
+  @Test
+  void tokensIssuedBeforeARevocationAreRejected() throws Exception {
+    String before = login();
+
+    revokeTokens(before).andExpect(status().isNoContent());
+
+    revokeTokens(before).andExpect(status().isUnauthorized());
+    revokeTokens(login()).andExpect(status().isNoContent());
+  }
+
+  private String login() {
+    return userService
+        .authenticateUser(new UserDTO(null, user.getUsername(), null, PASSWORD, 0, null, null))
+        .getToken();
+  }
+
+  private ResultActions revokeTokens(String token) throws Exception {
+    return mockMvc.perform(
+        post("/api/v1/users/me/revoke-tokens")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+  }
+}
@@ -0,0 +1,122 @@
+package com.expensetracker.userservice.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.expensetracker.userservice.dto.UserDTO;
+import com.expensetracker.userservice.service.UserService;
+import com.expensetracker.userservice.util.UserRoles;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser
+class UserControllerTest {
+
+  private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+  @Autowired private MockMvc mockMvc;
+  @MockitoBean private UserService userService;
+
+  private final UUID id = UUID.randomUUID();
+
+  @BeforeEach
+  void setUp() {
+    UserDTO user = new UserDTO();
+    user.setId(id);
+    user.setUsername("jack12");
+    user.setCreatedAt(LocalDateTime.of(2025, 5, 11, 16, 2, 19));
+    user.setUpdatedAt(LocalDateTime.of(2025, 5, 12, 9, 30, 0));
+    given(userService.getUserById(id)).willReturn(user);
+  }
+
+  @Test
+  void eachBodyFormatHasItsOwnETag() throws Exception {
+    String json = getUser(MediaType.APPLICATION_JSON);
+    String cbor = getUser(MediaType.APPLICATION_CBOR);
+    String smile = getUser(SMILE);
+
+    assertThat(json).isNotEqualTo(cbor).isNotEqualTo(smile);
+    assertThat(cbor).isNotEqualTo(smile);
+    assertThat(getUser(MediaType.ALL)).isEqualTo(json);
+  }
+
+  @Test
+  void etagOfOneFormatDoesNotRevalidateAnother() throws Exception {
+    String json = getUser(MediaType.APPLICATION_JSON);
+
+    mockMvc
+        .perform(
+            get("/api/v1/users/{id}", id)
+                .accept(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_NONE_MATCH, json))
+        .andExpect(status().isNotModified());
+    mockMvc
+        .perform(
+            get("/api/v1/users/{id}", id)
+                .accept(MediaType.APPLICATION_CBOR)
+                .header(HttpHeaders.IF_NONE_MATCH, json))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+  }
+
+  @Test
+  void followsAcceptQuality() throws Exception {
+    mockMvc
+        .perform(
+            get("/api/v1/users/{id}", id)
+                .header(HttpHeaders.ACCEPT, "application/cbor;q=0.5, application/json"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    mockMvc
+        .perform(
+            get("/api/v1/users/{id}", id)
+                .header(HttpHeaders.ACCEPT, "application/json;q=0, application/cbor"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+  }
+
+  @Test
+  void bulkImportIsForAdminsOnly() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/v1/users/bulk").contentType("text/csv").content("username,email,password\n"))
+        .andExpect(status().isForbidden());
+  }
+
+  @Test
+  @WithMockUser(authorities = {UserRoles.USER, UserRoles.ADMIN})
+  void adminsCanBulkImport() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/v1/users/bulk").contentType("text/csv").content("username,email,password\n"))
+        .andExpect(status().isOk());
+  }
+
+  private String getUser(MediaType accept) throws Exception {
+    return mockMvc
+        .perform(get("/api/v1/users/{id}", id).accept(accept))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(accept))
+        .andReturn()
+        .getResponse()
+        .getHeader(HttpHeaders.ETAG);
+  }
+}
@@ -0,0 +1,160 @@
+package com.expensetracker.userservice.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Runs the repository queries against the local database, captures the SQL Hibernate sends and
+ * fails if EXPLAIN plans a sequential scan for any of it. Sequential scans are disabled for the
+ * check, so the planner uses an index whenever one applies however small the tables are, and plans
+ * are generic so they hold for every parameter value.
+ */
+@SpringBootTest(
+    properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+            + "com.expensetracker.userservice.repository.QueryPlanTest$RecordingStatementInspector")
+@Transactional
+class QueryPlanTest {
+
+  @Autowired private UserRepository userRepository;
+  @Autowired private RefreshTokenRepository refreshTokenRepository;
+  @Autowired private RevokedTokenRepository revokedTokenRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void repositoryQueriesDoNotScanWholeTables() {
+    String name = "plan" + UUID.randomUUID();
+    UUID id = UUID.randomUUID();
+    LocalDateTime since = LocalDateTime.now();
+    Instant now = Instant.now();
+
+    Set<String> queries =
+        RecordingStatementInspector.record(
+            () -> {
+              userRepository.findByUsername(name);
+              userRepository.findByEmail(name);
+              userRepository.findById(id);
+              userRepository.findAllById(List.of(id, UUID.randomUUID()));
+              userRepository.findByUsernameOrEmail(name, name);
+              userRepository.existsByUsername(name);
+              userRepository.existsByEmail(name);
+              userRepository.existsById(id);
+              userRepository.existsByUsernameOrEmail(name, name);
+              userRepository.findRevokedUpdatedAfter(since);
+              userRepository.findByUsernameUncached(name);
+              userRepository.incrementTokenVersion(name, since);
+              userRepository.updatePassword(id, name, name, since);
+              try (Stream<UserIdentityView> created =
+                  userRepository.findByCreatedAtAfterOrderByCreatedAt(since)) {
+                created.count();
+              }
+
+              refreshTokenRepository.findByTokenHash(name);
+              refreshTokenRepository.markConsumed(id, now);
+              refreshTokenRepository.deleteByFamilyId(id);
+              refreshTokenRepository.deleteByUserId(id);
+              refreshTokenRepository.deleteExpired(Instant.EPOCH);
+
+              revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(now, now);
+              revokedTokenRepository.deleteExpired(Instant.EPOCH);
+            });
+    queries.add(UserBulkRepository.SELECT_TAKEN);
+
+    Map<String, String> sequentialScans = new LinkedHashMap<>();
+    for (String sql : queries) {
+      String plan = explain(sql);
+      if (plan.contains("Seq Scan")) {
+        sequentialScans.put(sql, plan);
+      }
+    }
+
+    assertThat(queries).hasSizeGreaterThan(15);
+    assertThat(sequentialScans).isEmpty();
+  }
+
+  private String explain(String sql) {
+    // Number the JDBC placeholders so the statement can be prepared and planned without values
+    StringBuilder numbered = new StringBuilder();
+    int parameters = 0;
+    for (char c : sql.toCharArray()) {
+      if (c == '?') {
+        numbered.append('$').append(++parameters);
+      } else {
+        numbered.append(c);
+      }
+    }
+    String arguments =
+        parameters == 0
+            ? ""
+            : Stream.generate(() -> "NULL")
+                .limit(parameters)
+                .collect(Collectors.joining(", ", "(", ")"));
+
+    return jdbcTemplate.execute(
+        (ConnectionCallback<String>)
+            connection -> {
+              try (Statement statement = connection.createStatement()) {
+                statement.execute("SET LOCAL enable_seqscan = off");
+                statement.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+                statement.execute("PREPARE plan_check AS " + numbered);
+                List<String> lines = new ArrayList<>();
+                try (ResultSet plan =
+                    statement.executeQuery("EXPLAIN EXECUTE plan_check" + arguments)) {
+                  while (plan.next()) {
+                    lines.add(plan.getString(1));
+                  }
+                } finally {
+                  statement.execute("DEALLOCATE plan_check");
+                }
+                return String.join("\n", lines);
+              }
+            });
+  }
+
+  /** Collects the SQL prepared on the recording thread; background jobs are left out */
+  public static class RecordingStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<Set<String>> RECORDED = new ThreadLocal<>();
+
+    static Set<String> record(Runnable work) {
+      Set<String> recorded = new LinkedHashSet<>();
+      RECORDED.set(recorded);
+      try {
+        work.run();
+      } finally {
+        RECORDED.remove();
+      }
+      return recorded;
+    }
+
+    @Override
+    public String inspect(String sql) {
+      Set<String> recorded = RECORDED.get();
+      if (recorded != null) {
+        recorded.add(sql);
+      }
+      return sql;
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package com.expensetracker.userservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.expensetracker.userservice.exception.ServiceOverloadedException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PasswordHashingServiceTest {
+
+  @Test
+  void encodeAllIsShedWhenThePoolIsFull() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    when(passwordEncoder.encode(any()))
+        .thenAnswer(
+            invocation -> {
+              release.await(5, TimeUnit.SECONDS);
+              return "{bcrypt}" + invocation.getArgument(0);
+            });
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    PasswordHashingService service =
+        new PasswordHashingService(passwordEncoder, meterRegistry, 2, 1, 5000);
+
+    // Both threads busy and the queue full
+    List<CompletableFuture<String>> busy =
+        List.of(
+            CompletableFuture.supplyAsync(() -> service.encode("a")),
+            CompletableFuture.supplyAsync(() -> service.encode("b")),
+            CompletableFuture.supplyAsync(() -> service.encode("c")));
+    while (meterRegistry.get("password.hashing.queue.depth").gauge().value() < 1) {
+      Thread.sleep(10);
+    }
+
+    assertThatThrownBy(() -> service.encodeAll(List.of("d", "e")))
+        .isInstanceOf(ServiceOverloadedException.class);
+    assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isOne();
+
+    release.countDown();
+    for (CompletableFuture<String> future : busy) {
+      future.get(5, TimeUnit.SECONDS);
+    }
+    assertThat(service.encodeAll(List.of("d", "e"))).containsExactly("{bcrypt}d", "{bcrypt}e");
+    service.destroy();
+  }
+}
@@ -0,0 +1,107 @@
+package com.expensetracker.userservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.expensetracker.userservice.exception.InvalidTokenException;
+
+/** Refresh token rotation against the local database, with each call in its own transaction */
+@SpringBootTest
+class RefreshTokenServiceTest {
+
+  @Autowired private RefreshTokenService refreshTokenService;
+  @Autowired private UserService userService;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  // No user row is needed for the token itself
+  private final UUID userId = UUID.randomUUID();
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.update("delete from refresh_tokens where user_id = ?", userId);
+  }
+
+  @Test
+  void rotationReplacesTheTokenWithinItsFamily() {
+    String first = refreshTokenService.issue(userId);
+
+    RefreshTokenService.Rotation rotation = refreshTokenService.rotate(first);
+
+    assertThat(rotation.userId()).isEqualTo(userId);
+    assertThat(rotation.refreshToken()).isNotEqualTo(first);
+    assertThat(tokens()).isEqualTo(2);
+    assertThat(refreshTokenService.rotate(rotation.refreshToken()).userId()).isEqualTo(userId);
+  }
+
+  @Test
+  void reusingAConsumedTokenDeletesTheWholeFamily() {
+    String first = refreshTokenService.issue(userId);
+    String second = refreshTokenService.rotate(first).refreshToken();
+
+    assertThatThrownBy(() -> refreshTokenService.rotate(first))
+        .isInstanceOf(InvalidTokenException.class)
+        .hasMessage("Refresh token has already been used");
+
+    assertThat(tokens()).isZero();
+    assertThatThrownBy(() -> refreshTokenService.rotate(second))
+        .isInstanceOf(InvalidTokenException.class)
+        .hasMessage("Invalid refresh token");
+  }
+
+  @Test
+  void expiredTokensAreRejectedWithoutBeingConsumed() {
+    String token = refreshTokenService.issue(userId);
+    jdbcTemplate.update(
+        "update refresh_tokens set expires_at = now() - interval '1 second' where user_id = ?",
+        userId);
+
+    assertThatThrownBy(() -> refreshTokenService.rotate(token))
+        .isInstanceOf(InvalidTokenException.class)
+        .hasMessage("Refresh token has expired");
+    assertThat(tokens()).isOne();
+    assertThat(consumedTokens()).isZero();
+  }
+
+  @Test
+  void failedUserLookupRollsTheRotationBack() {
+    String token = refreshTokenService.issue(userId);
+
+    assertThatThrownBy(() -> userService.refreshToken(token))
+        .isInstanceOf(InvalidTokenException.class);
+
+    assertThat(tokens()).isOne();
+    assertThat(consumedTokens()).isZero();
+  }
+
+  @Test
+  void reuseThroughTheUserServiceStillDeletesTheFamily() {
+    String first = refreshTokenService.issue(userId);
+    refreshTokenService.rotate(first);
+
+    assertThatThrownBy(() -> userService.refreshToken(first))
+        .isInstanceOf(InvalidTokenException.class)
+        .hasMessage("Refresh token has already been used");
+
+    assertThat(tokens()).isZero();
+  }
+
+  private int tokens() {
+    return jdbcTemplate.queryForObject(
+        "select count(*) from refresh_tokens where user_id = ?", Integer.class, userId);
+  }
+
+  private int consumedTokens() {
+    return jdbcTemplate.queryForObject(
+        "select count(*) from refresh_tokens where user_id = ? and consumed_at is not null",
+        Integer.class,
+        userId);
+  }
+}
@@ -0,0 +1,76 @@
+package com.expensetracker.userservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.expensetracker.userservice.dto.UserDTO;
+import com.expensetracker.userservice.repository.UserRepository;
+
+/**
+ * Token version bumps and password upgrades made while this instance's second-level cache holds an
+ * older copy of the user, as it does after another instance wrote the row.
+ */
+@SpringBootTest
+class TokenVersionBumpTest {
+
+  @Autowired private UserService userService;
+  @Autowired private UserRepository userRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private UserDTO user;
+
+  @BeforeEach
+  void setUp() {
+    String username = "bump" + UUID.randomUUID().toString().substring(0, 8);
+    user =
+        userService.createUser(
+            new UserDTO(null, username, username + "@example.com", "Secret123!", 0, null, null));
+    // Cache the user at token version 0, then let "another instance" bump it behind the cache
+    assertThat(userRepository.findByUsername(user.getUsername()))
+        .hasValueSatisfying(cached -> assertThat(cached.getTokenVersion()).isZero());
+    jdbcTemplate.update(
+        "update users set token_version = token_version + 1 where id = ?", user.getId());
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.update("delete from users where id = ?", user.getId());
+  }
+
+  @Test
+  void revocationBumpsTheStoredVersionNotTheCachedOne() {
+    UserDTO revoked = userService.revokeTokens(user.getUsername());
+
+    assertThat(revoked.getTokenVersion()).isEqualTo(2);
+    assertThat(storedTokenVersion()).isEqualTo(2);
+  }
+
+  @Test
+  void passwordUpgradeKeepsTheStoredVersion() {
+    String verified = user.getPassword();
+
+    assertThat(userRepository.updatePassword(user.getId(), "stale", "new", LocalDateTime.now()))
+        .isZero();
+    assertThat(userRepository.updatePassword(user.getId(), verified, "new", LocalDateTime.now()))
+        .isOne();
+    assertThat(storedTokenVersion()).isOne();
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "select password from users where id = ?", String.class, user.getId()))
+        .isEqualTo("new");
+  }
+
+  private int storedTokenVersion() {
+    return jdbcTemplate.queryForObject(
+        "select token_version from users where id = ?", Integer.class, user.getId());
+  }
+}
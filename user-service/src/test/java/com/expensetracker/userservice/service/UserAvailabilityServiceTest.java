@@ -0,0 +1,57 @@
+package com.expensetracker.userservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import com.expensetracker.userservice.dto.response.AvailabilityResponse;
+import com.expensetracker.userservice.repository.UserIdentityView;
+import com.expensetracker.userservice.repository.UserRepository;
+
+class UserAvailabilityServiceTest {
+
+  private final UserRepository userRepository = mock(UserRepository.class);
+  private final UserAvailabilityService userAvailabilityService =
+      new UserAvailabilityService(userRepository, 1000, 0.01);
+
+  @Test
+  void checksTheDatabaseUntilTheFirstRefreshHasLoadedEveryUser() {
+    when(userRepository.existsByUsername("Alice")).thenReturn(true);
+    when(userRepository.existsByEmail("alice@example.com")).thenReturn(true);
+
+    AvailabilityResponse response =
+        userAvailabilityService.checkAvailability("Alice", "alice@example.com");
+
+    assertThat(response.getUsernameAvailable()).isFalse();
+    assertThat(response.getEmailAvailable()).isFalse();
+  }
+
+  @Test
+  void answersNamesMissingFromTheFiltersWithoutAQueryOnceLoaded() {
+    UserIdentityView alice = mock(UserIdentityView.class);
+    when(alice.getUsername()).thenReturn("alice");
+    when(alice.getEmail()).thenReturn("alice@example.com");
+    when(alice.getCreatedAt()).thenReturn(LocalDateTime.now());
+    when(userRepository.findByCreatedAtAfterOrderByCreatedAt(any())).thenReturn(Stream.of(alice));
+    when(userRepository.existsByUsername("Alice")).thenReturn(true);
+
+    userAvailabilityService.refresh();
+
+    assertThat(userAvailabilityService.checkAvailability("Alice", null).getUsernameAvailable())
+        .isFalse();
+    AvailabilityResponse bob = userAvailabilityService.checkAvailability("bob", "bob@example.com");
+    assertThat(bob.getUsernameAvailable()).isTrue();
+    assertThat(bob.getEmailAvailable()).isTrue();
+    verify(userRepository, never()).existsByUsername("bob");
+    verify(userRepository, never()).existsByEmail(anyString());
+  }
+}
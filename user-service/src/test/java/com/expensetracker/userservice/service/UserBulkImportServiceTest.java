@@ -0,0 +1,161 @@
+package com.expensetracker.userservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.expensetracker.userservice.dto.response.BulkImportResponse;
+import com.expensetracker.userservice.dto.response.BulkImportRowResult;
+import com.expensetracker.userservice.dto.response.BulkImportRowResult.Status;
+import com.expensetracker.userservice.entity.User;
+import com.expensetracker.userservice.exception.ServiceOverloadedException;
+import com.expensetracker.userservice.repository.UserBulkRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.Validation;
+
+class UserBulkImportServiceTest {
+
+  private final UserBulkRepository userBulkRepository = mock(UserBulkRepository.class);
+  private final PasswordHashingService passwordHashingService = mock(PasswordHashingService.class);
+
+  private final UserBulkImportService userBulkImportService =
+      new UserBulkImportService(
+          userBulkRepository,
+          passwordHashingService,
+          mock(UserAvailabilityService.class),
+          Validation.buildDefaultValidatorFactory().getValidator(),
+          new ObjectMapper(),
+          100,
+          3);
+
+  @Test
+  void parseCsvLineHonoursQuotesAndEscapedQuotes() {
+    assertThat(UserBulkImportService.parseCsvLine("a,b,c")).containsExactly("a", "b", "c");
+    assertThat(UserBulkImportService.parseCsvLine("\"a,b\",c")).containsExactly("a,b", "c");
+    assertThat(UserBulkImportService.parseCsvLine("\"say \"\"hi\"\"\",x"))
+        .containsExactly("say \"hi\"", "x");
+    assertThat(UserBulkImportService.parseCsvLine("a,,\"\"")).containsExactly("a", "", "");
+    assertThat(UserBulkImportService.parseCsvLine("")).containsExactly("");
+  }
+
+  @Test
+  void reportsEachRowSeparately() throws Exception {
+    when(passwordHashingService.encodeAll(anyList()))
+        .thenAnswer(invocation -> invocation.<List<String>>getArgument(0));
+    // dave's email and erin's username are already registered
+    when(userBulkRepository.insertAll(anyList()))
+        .thenAnswer(
+            invocation ->
+                invocation.<List<User>>getArgument(0).stream()
+                    .filter(user -> !Set.of("dave", "erin").contains(user.getUsername()))
+                    .map(User::getId)
+                    .collect(Collectors.toSet()));
+    when(userBulkRepository.findByUsernameInOrEmailIn(any(), any()))
+        .thenReturn(List.of(user("someone", "dave@example.com"), user("erin", "e@example.com")));
+
+    BulkImportResponse response =
+        userBulkImportService.importCsv(
+            csv(
+                "username,email,password",
+                "alice,alice@example.com,Secret1!",
+                "x,not-an-email,short",
+                "bob,ALICE@example.com,Secret1!",
+                "Alice,carol@example.com,Secret1!",
+                "dave,dave@example.com,Secret1!",
+                "erin,erin@example.com,Secret1!",
+                "only,two",
+                "\"frank, jr\",frank@example.com,\"Pa\"\"ss1!word\""));
+
+    assertThat(response.getTotal()).isEqualTo(8);
+    assertThat(response.getImported()).isEqualTo(2);
+    assertThat(response.getFailed()).isEqualTo(6);
+    assertThat(response.getResults())
+        .extracting(BulkImportRowResult::getRow, BulkImportRowResult::getStatus)
+        .containsExactly(
+            tuple(1, Status.CREATED),
+            tuple(2, Status.INVALID),
+            tuple(3, Status.CONFLICT),
+            tuple(4, Status.CONFLICT),
+            tuple(5, Status.CONFLICT),
+            tuple(6, Status.CONFLICT),
+            tuple(7, Status.INVALID),
+            tuple(8, Status.CREATED));
+
+    List<BulkImportRowResult> results = response.getResults();
+    assertThat(results.get(0).getId()).isNotNull();
+    assertThat(results.get(1).getErrors()).hasSize(4);
+    assertThat(results.get(2).getErrors()).containsExactly("Email already exists");
+    assertThat(results.get(3).getErrors()).containsExactly("Username already exists");
+    assertThat(results.get(4).getErrors()).containsExactly("Email already exists");
+    assertThat(results.get(5).getErrors()).containsExactly("Username already exists");
+    assertThat(results.get(6).getErrors()).containsExactly("Expected 3 columns but found 2");
+    assertThat(results.get(7).getUsername()).isEqualTo("frank, jr");
+  }
+
+  @Test
+  void rejectsASecondImportWhileOneIsRunning() throws Exception {
+    CountDownLatch hashing = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(passwordHashingService.encodeAll(anyList()))
+        .thenAnswer(
+            invocation -> {
+              hashing.countDown();
+              release.await(5, TimeUnit.SECONDS);
+              return invocation.getArgument(0);
+            });
+    when(userBulkRepository.insertAll(anyList())).thenReturn(Set.of());
+
+    CompletableFuture<BulkImportResponse> first =
+        CompletableFuture.supplyAsync(
+            () -> {
+              try {
+                return userBulkImportService.importCsv(
+                    csv("username,email,password", "alice,alice@example.com,Secret1!"));
+              } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+              }
+            });
+    assertThat(hashing.await(5, TimeUnit.SECONDS)).isTrue();
+
+    assertThatThrownBy(() -> userBulkImportService.importJson(body("[]")))
+        .isInstanceOf(ServiceOverloadedException.class);
+
+    release.countDown();
+    first.get(5, TimeUnit.SECONDS);
+    assertThat(userBulkImportService.importJson(body("[]")).getTotal()).isZero();
+  }
+
+  private static User user(String username, String email) {
+    User user = new User();
+    user.setId(UUID.randomUUID());
+    user.setUsername(username);
+    user.setEmail(email);
+    return user;
+  }
+
+  private static InputStream csv(String... lines) {
+    return body(String.join("\n", lines));
+  }
+
+  private static InputStream body(String body) {
+    return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+  }
+}
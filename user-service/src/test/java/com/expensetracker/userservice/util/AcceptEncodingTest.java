@@ -0,0 +1,34 @@
+package com.expensetracker.userservice.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class AcceptEncodingTest {
+
+  @Test
+  void acceptsListedCodingsWithNonZeroWeight() {
+    assertThat(AcceptEncoding.accepts("gzip, deflate, br", "gzip")).isTrue();
+    assertThat(AcceptEncoding.accepts("br;q=1.0, GZIP;q=0.5", "gzip")).isTrue();
+    assertThat(AcceptEncoding.accepts("x-gzip", "gzip")).isTrue();
+    assertThat(AcceptEncoding.accepts("gzip;q=0", "gzip")).isFalse();
+    assertThat(AcceptEncoding.accepts("gzip; Q=0.000", "gzip")).isFalse();
+    assertThat(AcceptEncoding.accepts("gzip;q=bogus", "gzip")).isFalse();
+  }
+
+  @Test
+  void matchesWholeCodingNamesOnly() {
+    assertThat(AcceptEncoding.accepts("x-gzipped, notgzip", "gzip")).isFalse();
+    assertThat(AcceptEncoding.accepts("br;gzip=1", "gzip")).isFalse();
+    assertThat(AcceptEncoding.accepts("", "gzip")).isFalse();
+    assertThat(AcceptEncoding.accepts(null, "gzip")).isFalse();
+  }
+
+  @Test
+  void wildcardCoversCodingsThatAreNotListed() {
+    assertThat(AcceptEncoding.accepts("*", "gzip")).isTrue();
+    assertThat(AcceptEncoding.accepts("br, *;q=0", "gzip")).isFalse();
+    assertThat(AcceptEncoding.accepts("gzip;q=0, *", "gzip")).isFalse();
+    assertThat(AcceptEncoding.accepts("*;q=0, gzip", "gzip")).isTrue();
+  }
+}
@@ -0,0 +1,22 @@
+package com.expensetracker.userservice.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+  @Test
+  void containsEveryAddedValueAndFewOthers() {
+    BloomFilter filter = new BloomFilter(10_000, 0.01);
+    IntStream.range(0, 10_000).forEach(i -> filter.put("user" + i));
+
+    assertThat(IntStream.range(0, 10_000).allMatch(i -> filter.mightContain("user" + i))).isTrue();
+
+    long falsePositives =
+        IntStream.range(0, 10_000).filter(i -> filter.mightContain("other" + i)).count();
+    assertThat(falsePositives).isLessThan(300);
+  }
+}
@@ -0,0 +1,60 @@
+package com.expensetracker.userservice.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.expensetracker.userservice.config.JacksonConfig;
+import com.expensetracker.userservice.dto.response.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class ErrorResponseTemplateTest {
+
+  private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+
+  @Test
+  void rendersWhatTheObjectMapperWouldWrite() throws Exception {
+    ErrorResponseTemplate template = ErrorResponseTemplate.of(objectMapper, HttpStatus.NOT_FOUND);
+    String message = "User not found with \"id\": \\ é\n";
+    String path = "/api/v1/users/\"x\"";
+
+    byte[] body = template.render(message, path);
+
+    ErrorResponse rendered = objectMapper.readValue(body, ErrorResponse.class);
+    assertThat(rendered.getTimestamp()).isAfter(LocalDateTime.now().minusMinutes(1));
+
+    ErrorResponse expected =
+        ErrorResponse.builder()
+            .timestamp(rendered.getTimestamp())
+            .status(404)
+            .error("Not Found")
+            .message(message)
+            .path(path)
+            .build();
+    assertThat(new String(body, StandardCharsets.UTF_8))
+        .isEqualTo(objectMapper.writeValueAsString(expected));
+  }
+
+  @Test
+  void writesFixedBodiesWithTheirStatus() throws Exception {
+    ErrorResponseTemplate template =
+        ErrorResponseTemplate.of(objectMapper, HttpStatus.UNAUTHORIZED, "Authentication required");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    template.write(response, "/api/v1/users/me");
+
+    ErrorResponse body =
+        objectMapper.readValue(response.getContentAsByteArray(), ErrorResponse.class);
+    assertThat(response.getStatus()).isEqualTo(401);
+    assertThat(response.getContentType()).isEqualTo("application/json");
+    assertThat(response.getContentLength()).isEqualTo(response.getContentAsByteArray().length);
+    assertThat(body.getMessage()).isEqualTo("Authentication required");
+    assertThat(body.getPath()).isEqualTo("/api/v1/users/me");
+    assertThat(body.getDetails()).isNull();
+  }
+}
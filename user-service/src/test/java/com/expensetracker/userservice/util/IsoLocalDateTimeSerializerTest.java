@@ -0,0 +1,51 @@
+package com.expensetracker.userservice.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.expensetracker.userservice.config.JacksonConfig;
+import com.expensetracker.userservice.dto.response.ErrorResponse;
+import com.expensetracker.userservice.dto.response.UserResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+class IsoLocalDateTimeSerializerTest {
+
+  private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+  private final ObjectMapper javaTimeMapper =
+      new ObjectMapper()
+          .registerModule(new JavaTimeModule())
+          .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+  @Test
+  void writesWhatTheJavaTimeModuleWrites() throws Exception {
+    for (LocalDateTime time :
+        List.of(
+            LocalDateTime.of(2025, 5, 11, 16, 2, 19, 430_573_000),
+            LocalDateTime.of(2025, 1, 2, 3, 4, 5),
+            LocalDateTime.of(999, 12, 31, 23, 59, 59, 999_999_999),
+            LocalDateTime.of(12025, 5, 11, 0, 0, 0, 7))) {
+      UserResponse user =
+          UserResponse.builder()
+              .id(UUID.randomUUID())
+              .username("jack12")
+              .createdAt(time)
+              .updatedAt(time)
+              .build();
+      ErrorResponse error = ErrorResponse.builder().timestamp(time).status(404).build();
+
+      assertThat(objectMapper.writeValueAsString(user))
+          .isEqualTo(javaTimeMapper.writeValueAsString(user));
+      assertThat(objectMapper.writeValueAsString(error))
+          .isEqualTo(javaTimeMapper.writeValueAsString(error));
+      assertThat(objectMapper.writeValueAsString(time))
+          .isEqualTo(javaTimeMapper.writeValueAsString(time));
+    }
+  }
+}
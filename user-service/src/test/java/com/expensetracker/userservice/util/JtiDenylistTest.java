@@ -0,0 +1,51 @@
+package com.expensetracker.userservice.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class JtiDenylistTest {
+
+  private final JtiDenylist jtiDenylist = new JtiDenylist(10000L, 1000L);
+
+  @Test
+  void revokedIdsExpireWithTheirToken() {
+    long now = System.currentTimeMillis();
+    UUID expiresSoon = UUID.randomUUID();
+    UUID expiresLater = UUID.randomUUID();
+    jtiDenylist.revoke(expiresSoon, now + 2000);
+    jtiDenylist.revoke(expiresLater, now + 8000);
+
+    jtiDenylist.advanceTo(now + 1000);
+    assertThat(jtiDenylist.isRevoked(expiresSoon)).isTrue();
+
+    jtiDenylist.advanceTo(now + 4000);
+    assertThat(jtiDenylist.isRevoked(expiresSoon)).isFalse();
+    assertThat(jtiDenylist.isRevoked(expiresLater)).isTrue();
+
+    jtiDenylist.advanceTo(now + 10000);
+    assertThat(jtiDenylist.size()).isZero();
+  }
+
+  @Test
+  void entriesBeyondOneRevolutionWaitForTheirOwnTick() {
+    long now = System.currentTimeMillis();
+    UUID longLived = UUID.randomUUID();
+    jtiDenylist.revoke(longLived, now + 30000);
+
+    jtiDenylist.advanceTo(now + 20000);
+    assertThat(jtiDenylist.isRevoked(longLived)).isTrue();
+
+    jtiDenylist.advanceTo(now + 32000);
+    assertThat(jtiDenylist.isRevoked(longLived)).isFalse();
+  }
+
+  @Test
+  void alreadyExpiredTokensAreNotStored() {
+    jtiDenylist.revoke(UUID.randomUUID(), System.currentTimeMillis() - 1);
+
+    assertThat(jtiDenylist.size()).isZero();
+  }
+}
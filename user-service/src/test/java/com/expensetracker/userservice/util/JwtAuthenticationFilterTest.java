@@ -0,0 +1,154 @@
+package com.expensetracker.userservice.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.expensetracker.userservice.entity.User;
+import com.expensetracker.userservice.repository.UserRepository;
+import com.expensetracker.userservice.util.UserMetrics.TokenOutcome;
+
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JwtAuthenticationFilterTest {
+
+  private final JwtKeyRing keyRing = new JwtKeyRing(0L);
+  private final JwtTokenProvider jwtTokenProvider =
+      new JwtTokenProvider(keyRing, 60000L, true, 100L, new UserRoles(Set.of()));
+  private final CustomUserDetailsService userDetailsService = mock(CustomUserDetailsService.class);
+  private final TokenVersionRegistry tokenVersionRegistry =
+      new TokenVersionRegistry(mock(UserRepository.class));
+  private final JtiDenylist jtiDenylist = new JtiDenylist(60000L, 1000L);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final JwtAuthenticationFilter filter =
+      new JwtAuthenticationFilter(
+          jwtTokenProvider,
+          userDetailsService,
+          tokenVersionRegistry,
+          jtiDenylist,
+          new UserMetrics(meterRegistry));
+
+  private final User user = new User();
+
+  JwtAuthenticationFilterTest() {
+    keyRing.replace(List.of(JwtKeyRing.generateKey()));
+    ReflectionTestUtils.setField(filter, "statelessAuthentication", true);
+    user.setId(UUID.randomUUID());
+    user.setUsername("jack12");
+  }
+
+  @AfterEach
+  void clearContext() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void currentTokensAuthenticateFromTheirClaims() throws Exception {
+    filter(jwtTokenProvider.generateToken(user));
+
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    assertThat(authentication.getPrincipal()).isInstanceOf(JwtUserPrincipal.class);
+    assertThat(authentication.getName()).isEqualTo("jack12");
+    assertThat(authentication.getAuthorities())
+        .extracting(GrantedAuthority::getAuthority)
+        .containsExactly(UserRoles.USER);
+    verify(userDetailsService, never()).loadUserByUsername(anyString());
+    assertThat(outcomes(TokenOutcome.VALID)).isOne();
+  }
+
+  @Test
+  void tokensWithoutRolesLoadTheUser() throws Exception {
+    when(userDetailsService.loadUserByUsername("jack12"))
+        .thenReturn(
+            new org.springframework.security.core.userdetails.User(
+                "jack12", "", List.of(new SimpleGrantedAuthority(UserRoles.USER))));
+    JwtSigningKey signingKey = keyRing.signingKey();
+    String token =
+        Jwts.builder()
+            .header()
+            .keyId(signingKey.kid())
+            .and()
+            .claim(JwtTokenProvider.ID_CLAIM, user.getId().toString())
+            .subject("jack12")
+            .expiration(new Date(System.currentTimeMillis() + 60000))
+            .signWith(signingKey.privateKey(), Jwts.SIG.ES256)
+            .compact();
+
+    filter(token);
+
+    assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal())
+        .isInstanceOf(org.springframework.security.core.userdetails.User.class);
+    verify(userDetailsService).loadUserByUsername("jack12");
+    assertThat(outcomes(TokenOutcome.VALID)).isOne();
+  }
+
+  @Test
+  void tokensIssuedBeforeARevocationAreRejected() throws Exception {
+    String token = jwtTokenProvider.generateToken(user);
+    tokenVersionRegistry.update(user.getId(), 1);
+
+    filter(token);
+
+    assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    assertThat(outcomes(TokenOutcome.REVOKED)).isOne();
+  }
+
+  @Test
+  void denylistedTokensAreRejected() throws Exception {
+    String token = jwtTokenProvider.generateToken(user);
+    jtiDenylist.revoke(
+        UUID.fromString(jwtTokenProvider.verifyToken(token).getId()),
+        System.currentTimeMillis() + 60000);
+
+    filter(token);
+
+    assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    assertThat(outcomes(TokenOutcome.REVOKED)).isOne();
+  }
+
+  @Test
+  void tokensThatDoNotVerifyAreRejected() throws Exception {
+    filter(jwtTokenProvider.generateToken(user) + "x");
+
+    assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    assertThat(outcomes(TokenOutcome.INVALID)).isOne();
+  }
+
+  private void filter(String token) throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/users/me");
+    request.addHeader("Authorization", "Bearer " + token);
+    MockFilterChain chain = new MockFilterChain();
+
+    filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+    assertThat(chain.getRequest()).isSameAs(request);
+  }
+
+  private double outcomes(TokenOutcome outcome) {
+    return meterRegistry
+        .get("jwt.verification.outcome")
+        .tag("outcome", outcome.name().toLowerCase())
+        .counter()
+        .count();
+  }
+}
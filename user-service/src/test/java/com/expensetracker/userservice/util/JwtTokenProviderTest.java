@@ -0,0 +1,92 @@
+package com.expensetracker.userservice.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.expensetracker.userservice.entity.User;
+
+import io.jsonwebtoken.Claims;
+
+class JwtTokenProviderTest {
+
+  private final JwtKeyRing keyRing = keyRing(JwtKeyRing.generateKey());
+
+  private final JwtTokenProvider jwtTokenProvider =
+      new JwtTokenProvider(keyRing, 60000L, true, 100L, new UserRoles(Set.of(" Admin1", "")));
+
+  @Test
+  void verifyTokenServesRepeatedTokensFromCache() {
+    String token = jwtTokenProvider.generateToken(user("jack12"));
+
+    Claims first = jwtTokenProvider.verifyToken(token);
+    Claims second = jwtTokenProvider.verifyToken(token);
+
+    assertThat(first.getSubject()).isEqualTo("jack12");
+    assertThat(second).isSameAs(first);
+    assertThat(jwtTokenProvider.getVerifiedTokenCacheStats().missCount()).isEqualTo(1);
+    assertThat(jwtTokenProvider.getVerifiedTokenCacheStats().hitCount()).isEqualTo(1);
+  }
+
+  @Test
+  void verifyTokenRejectsTamperedAndExpiredTokens() {
+    String token = jwtTokenProvider.generateToken(user("jack12"));
+    JwtTokenProvider expiredProvider =
+        new JwtTokenProvider(keyRing, -1000L, true, 100L, new UserRoles(Set.of()));
+
+    assertThat(jwtTokenProvider.verifyToken(token + "x")).isNull();
+    assertThat(expiredProvider.verifyToken(expiredProvider.generateToken(user("jack12")))).isNull();
+  }
+
+  @Test
+  void onlyConfiguredAdminsGetTheAdminRole() {
+    Claims admin = jwtTokenProvider.verifyToken(jwtTokenProvider.generateToken(user("admin1")));
+    Claims user = jwtTokenProvider.verifyToken(jwtTokenProvider.generateToken(user("jack12")));
+
+    assertThat(admin.get(JwtTokenProvider.ROLES_CLAIM, List.class))
+        .containsExactly(UserRoles.USER, UserRoles.ADMIN);
+    assertThat(user.get(JwtTokenProvider.ROLES_CLAIM, List.class)).containsExactly(UserRoles.USER);
+  }
+
+  @Test
+  void verifyTokenUsesTheKeyNamedByKid() {
+    JwtSigningKey previousKey = keyRing.signingKey();
+    String previousToken = jwtTokenProvider.generateToken(user("jack12"));
+    JwtKeyRing otherRing = keyRing(JwtKeyRing.generateKey());
+    String foreignToken =
+        new JwtTokenProvider(otherRing, 60000L, false, 100L, new UserRoles(Set.of()))
+            .generateToken(user("jack12"));
+
+    // Rotate: the new key is active immediately as the activation delay is zero
+    keyRing.replace(List.of(previousKey, JwtKeyRing.generateKey()));
+    String currentToken = jwtTokenProvider.generateToken(user("jack12"));
+
+    assertThat(header(previousToken)).contains("\"kid\":\"" + previousKey.kid() + "\"");
+    assertThat(keyRing.signingKey().kid()).isNotEqualTo(previousKey.kid());
+    assertThat(jwtTokenProvider.verifyToken(previousToken)).isNotNull();
+    assertThat(jwtTokenProvider.verifyToken(currentToken)).isNotNull();
+    assertThat(jwtTokenProvider.verifyToken(foreignToken)).isNull();
+  }
+
+  private static JwtKeyRing keyRing(JwtSigningKey key) {
+    JwtKeyRing keyRing = new JwtKeyRing(0L);
+    keyRing.replace(List.of(key));
+    return keyRing;
+  }
+
+  private static String header(String token) {
+    return new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))));
+  }
+
+  private static User user(String username) {
+    User user = new User();
+    user.setId(UUID.randomUUID());
+    user.setUsername(username);
+    return user;
+  }
+}
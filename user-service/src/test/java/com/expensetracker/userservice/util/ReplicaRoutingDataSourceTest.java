@@ -0,0 +1,196 @@
+package com.expensetracker.userservice.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.sql.DataSource;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.TransactionManager;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.expensetracker.userservice.repository.UserRepository;
+
+class ReplicaRoutingDataSourceTest {
+
+  private final Connection primaryConnection = mock(Connection.class);
+  private final Connection firstReplicaConnection = mock(Connection.class);
+  private final Connection secondReplicaConnection = mock(Connection.class);
+  private final ResultSet firstReplicaLag = mock(ResultSet.class);
+  private final ResultSet secondReplicaLag = mock(ResultSet.class);
+
+  private final DataSource secondReplica;
+  private final ReplicaRoutingDataSource routing;
+
+  ReplicaRoutingDataSourceTest() throws SQLException {
+    Map<String, DataSource> replicas = new LinkedHashMap<>();
+    replicas.put("replica-0", dataSource(firstReplicaConnection, firstReplicaLag));
+    secondReplica = dataSource(secondReplicaConnection, secondReplicaLag);
+    replicas.put("replica-1", secondReplica);
+    routing = new ReplicaRoutingDataSource(dataSource(primaryConnection, null), replicas, 1000);
+  }
+
+  @AfterEach
+  void clearTransaction() {
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+  }
+
+  @Test
+  void writesGoToThePrimary() throws SQLException {
+    lag(0, 0);
+
+    assertThat(routing.getConnection()).isSameAs(primaryConnection);
+  }
+
+  @Test
+  void readOnlyTransactionsAlternateBetweenReplicas() throws SQLException {
+    lag(0, 0);
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+    Connection first = routing.getConnection();
+    Connection second = routing.getConnection();
+
+    assertThat(first).isIn(firstReplicaConnection, secondReplicaConnection);
+    assertThat(second).isIn(firstReplicaConnection, secondReplicaConnection).isNotSameAs(first);
+  }
+
+  @Test
+  void laggingOrUnreachableReplicasAreSkipped() throws SQLException {
+    lag(5000, 200);
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+    assertThat(routing.getConnection()).isSameAs(secondReplicaConnection);
+    assertThat(routing.getConnection()).isSameAs(secondReplicaConnection);
+
+    when(secondReplicaLag.next()).thenThrow(new SQLException("connection refused"));
+    routing.checkLag();
+
+    assertThat(routing.getConnection()).isSameAs(primaryConnection);
+    assertThat(routing.getReplicaLagMs("replica-1")).isEqualTo(Long.MAX_VALUE);
+  }
+
+  @Test
+  void readsFallBackToThePrimaryWhenAReplicaRefusesConnections() throws SQLException {
+    lag(5000, 0);
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    when(secondReplica.getConnection()).thenThrow(new SQLException("connection refused"));
+
+    assertThat(routing.getConnection()).isSameAs(primaryConnection);
+    assertThat(routing.getReplicaLagMs("replica-1")).isEqualTo(Long.MAX_VALUE);
+  }
+
+  @Test
+  void replicasAreUnusedUntilTheirLagIsKnown() throws SQLException {
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+    assertThat(routing.getConnection()).isSameAs(primaryConnection);
+  }
+
+  @Test
+  void pinnedReadsGoToThePrimary() throws SQLException {
+    lag(0, 0);
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+    Connection pinned =
+        ReplicaRoutingDataSource.onPrimary(
+            () -> {
+              try {
+                return routing.getConnection();
+              } catch (SQLException ex) {
+                throw new IllegalStateException(ex);
+              }
+            });
+
+    assertThat(pinned).isSameAs(primaryConnection);
+    assertThat(routing.getConnection()).isNotSameAs(primaryConnection);
+  }
+
+  @Test
+  void declaredReadQueriesGoToReplicasAndRevocationsToThePrimary() throws SQLException {
+    lag(0, 0);
+    AtomicReference<Connection> used = new AtomicReference<>();
+    UserRepository userRepository = repository(used);
+
+    List<Runnable> reads =
+        List.of(
+            () -> userRepository.findByEmail("alice@example.com"),
+            () -> userRepository.findByUsernameOrEmail("alice", "alice@example.com"),
+            () -> userRepository.existsByUsername("alice"),
+            () -> userRepository.existsByEmail("alice@example.com"),
+            () -> userRepository.existsByUsernameOrEmail("alice", "alice@example.com"));
+    for (Runnable read : reads) {
+      read.run();
+      assertThat(used.get()).isIn(firstReplicaConnection, secondReplicaConnection);
+    }
+
+    userRepository.findRevokedUpdatedAfter(LocalDateTime.now());
+    assertThat(used.get()).isSameAs(primaryConnection);
+  }
+
+  // The repository's transaction annotations in front of a query that records its connection
+  private UserRepository repository(AtomicReference<Connection> used) {
+    DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+    ProxyFactory factory = new ProxyFactory();
+    factory.addInterface(UserRepository.class);
+    factory.addAdvice(
+        new TransactionInterceptor(
+            (TransactionManager) new DataSourceTransactionManager(dataSource),
+            new AnnotationTransactionAttributeSource()));
+    factory.addAdvice(
+        (MethodInterceptor)
+            invocation -> {
+              Connection connection = DataSourceUtils.getConnection(dataSource);
+              try {
+                used.set(((ConnectionProxy) connection).getTargetConnection());
+              } finally {
+                DataSourceUtils.releaseConnection(connection, dataSource);
+              }
+              Class<?> returnType = invocation.getMethod().getReturnType();
+              return returnType == boolean.class
+                  ? false
+                  : returnType == Optional.class ? Optional.empty() : List.of();
+            });
+    return (UserRepository) factory.getProxy();
+  }
+
+  private void lag(long firstMs, long secondMs) throws SQLException {
+    when(firstReplicaLag.next()).thenReturn(true);
+    when(firstReplicaLag.getLong(1)).thenReturn(firstMs);
+    when(secondReplicaLag.next()).thenReturn(true);
+    when(secondReplicaLag.getLong(1)).thenReturn(secondMs);
+    routing.checkLag();
+  }
+
+  private static DataSource dataSource(Connection connection, ResultSet lag) throws SQLException {
+    DataSource dataSource = mock(DataSource.class);
+    when(dataSource.getConnection()).thenReturn(connection);
+    if (lag != null) {
+      Statement statement = mock(Statement.class);
+      when(connection.createStatement()).thenReturn(statement);
+      when(statement.executeQuery(anyString())).thenReturn(lag);
+    }
+    return dataSource;
+  }
+}
@@ -0,0 +1,41 @@
+package com.expensetracker.userservice.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+  private final long now = System.currentTimeMillis();
+
+  @Test
+  void tryAcquireRefillsAtTheConfiguredRate() {
+    TokenBucket bucket = new TokenBucket(2, 0.5, now);
+
+    assertThat(bucket.tryAcquire(now)).isZero();
+    assertThat(bucket.tryAcquire(now)).isZero();
+    assertThat(bucket.tryAcquire(now)).isEqualTo(2000);
+    assertThat(bucket.tryAcquire(now + 1000)).isEqualTo(1000);
+    assertThat(bucket.tryAcquire(now + 2000)).isZero();
+  }
+
+  @Test
+  void recordFailureBacksOffExponentiallyAfterTheFreeFailures() {
+    TokenBucket bucket = new TokenBucket(5, 1, now);
+
+    bucket.recordFailure(now, 2, 1000, 5000);
+    bucket.recordFailure(now, 2, 1000, 5000);
+    assertThat(bucket.backoffRemaining(now)).isZero();
+
+    bucket.recordFailure(now, 2, 1000, 5000);
+    assertThat(bucket.backoffRemaining(now)).isEqualTo(1000);
+    bucket.recordFailure(now, 2, 1000, 5000);
+    assertThat(bucket.backoffRemaining(now)).isEqualTo(2000);
+    bucket.recordFailure(now, 2, 1000, 5000);
+    bucket.recordFailure(now, 2, 1000, 5000);
+    assertThat(bucket.backoffRemaining(now)).isEqualTo(5000);
+
+    bucket.recordSuccess();
+    assertThat(bucket.backoffRemaining(now)).isZero();
+  }
+}
@@ -0,0 +1,81 @@
+package com.expensetracker.userservice.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.expensetracker.userservice.repository.TokenVersionView;
+import com.expensetracker.userservice.repository.UserRepository;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+
+class TokenVersionRegistryTest {
+
+  private final UserRepository userRepository = mock(UserRepository.class);
+  private final TokenVersionRegistry tokenVersionRegistry =
+      new TokenVersionRegistry(userRepository);
+  private final UUID userId = UUID.randomUUID();
+
+  @Test
+  void usersThatNeverRevokedAcceptEveryVersion() {
+    assertThat(tokenVersionRegistry.isCurrent(userId, 0)).isTrue();
+    assertThat(tokenVersionRegistry.currentVersion(userId, 3)).isEqualTo(3);
+  }
+
+  @Test
+  void tokensIssuedBeforeABumpAreNoLongerCurrent() {
+    tokenVersionRegistry.update(userId, 2);
+    tokenVersionRegistry.update(userId, 1);
+
+    assertThat(tokenVersionRegistry.isCurrent(userId, 1)).isFalse();
+    assertThat(tokenVersionRegistry.isCurrent(userId, 2)).isTrue();
+    assertThat(tokenVersionRegistry.currentVersion(userId, 1)).isEqualTo(2);
+    assertThat(tokenVersionRegistry.currentVersion(userId, 4)).isEqualTo(4);
+  }
+
+  @Test
+  void checksTheVersionClaimOfATokenAsZeroWhenMissing() {
+    tokenVersionRegistry.update(userId, 1);
+
+    assertThat(tokenVersionRegistry.isCurrent(claims(1))).isTrue();
+    assertThat(tokenVersionRegistry.isCurrent(claims(0))).isFalse();
+    assertThat(tokenVersionRegistry.isCurrent(claims(null))).isFalse();
+    assertThat(tokenVersionRegistry.isCurrent(Jwts.claims().subject("jack12").build())).isTrue();
+  }
+
+  @Test
+  void refreshPicksUpBumpsMadeElsewhereAndMovesTheWatermark() {
+    LocalDateTime updatedAt = LocalDateTime.of(2025, 5, 11, 12, 0);
+    TokenVersionView view = mock(TokenVersionView.class);
+    when(view.getId()).thenReturn(userId);
+    when(view.getTokenVersion()).thenReturn(3);
+    when(view.getUpdatedAt()).thenReturn(updatedAt);
+    when(userRepository.findRevokedUpdatedAfter(any()))
+        .thenReturn(List.of(view))
+        .thenReturn(List.of());
+
+    tokenVersionRegistry.refresh();
+    tokenVersionRegistry.refresh();
+
+    assertThat(tokenVersionRegistry.isCurrent(userId, 2)).isFalse();
+    assertThat(tokenVersionRegistry.currentVersion(userId, 0)).isEqualTo(3);
+    verify(userRepository).findRevokedUpdatedAfter(updatedAt.minus(Watermark.OVERLAP));
+  }
+
+  private Claims claims(Integer tokenVersion) {
+    return Jwts.claims()
+        .subject("jack12")
+        .add(JwtTokenProvider.ID_CLAIM, userId.toString())
+        .add(JwtTokenProvider.TOKEN_VERSION_CLAIM, tokenVersion)
+        .build();
+  }
+}
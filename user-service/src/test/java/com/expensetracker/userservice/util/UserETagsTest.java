@@ -0,0 +1,65 @@
+package com.expensetracker.userservice.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ETag;
+import org.springframework.http.MediaType;
+
+import com.expensetracker.userservice.dto.UserDTO;
+
+class UserETagsTest {
+
+  private final UUID id = UUID.randomUUID();
+  private final LocalDateTime updatedAt = LocalDateTime.of(2025, 5, 11, 16, 2, 19, 430_573_000);
+
+  @Test
+  void tagIsStrongAndChangesWithUpdatedAtOnly() {
+    ETag etag = UserETags.of(user(updatedAt), MediaType.APPLICATION_JSON);
+
+    assertThat(etag.weak()).isFalse();
+    // Sub-microsecond differences are lost in Postgres, so they do not change the tag
+    assertThat(UserETags.of(user(updatedAt.plusNanos(999)), MediaType.APPLICATION_JSON))
+        .isEqualTo(etag);
+    assertThat(UserETags.of(user(updatedAt.plusNanos(1_000)), MediaType.APPLICATION_JSON))
+        .isNotEqualTo(etag);
+  }
+
+  @Test
+  void tagNamesTheBodyFormat() {
+    assertThat(UserETags.of(user(updatedAt), MediaType.APPLICATION_JSON).tag()).endsWith("-json");
+    assertThat(UserETags.of(user(updatedAt), MediaType.APPLICATION_CBOR).tag()).endsWith("-cbor");
+    assertThat(UserETags.of(user(updatedAt), new MediaType("application", "x-jackson-smile")).tag())
+        .endsWith("-smile");
+  }
+
+  @Test
+  void matchesAnyIfNoneMatchValue() {
+    ETag etag = UserETags.of(user(updatedAt), MediaType.APPLICATION_JSON);
+    String other =
+        UserETags.of(user(updatedAt.plusSeconds(1)), MediaType.APPLICATION_JSON).formattedTag();
+
+    assertThat(UserETags.matchesAny(etag, headers(other + ", " + etag.formattedTag()))).isTrue();
+    assertThat(UserETags.matchesAny(etag, headers(other, "W/" + etag.formattedTag()))).isTrue();
+    assertThat(UserETags.matchesAny(etag, headers("*"))).isTrue();
+    assertThat(UserETags.matchesAny(etag, headers(other))).isFalse();
+    assertThat(UserETags.matchesAny(etag, headers())).isFalse();
+  }
+
+  private UserDTO user(LocalDateTime updatedAt) {
+    UserDTO user = new UserDTO();
+    user.setId(id);
+    user.setUpdatedAt(updatedAt);
+    return user;
+  }
+
+  private static Enumeration<String> headers(String... values) {
+    return Collections.enumeration(List.of(values));
+  }
+}
@@ -0,0 +1,59 @@
+package com.expensetracker.userservice.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+class WatermarkTest {
+
+  private final Watermark<Instant> watermark = Watermark.ofInstants();
+  private final List<Instant> queried = new ArrayList<>();
+  private final List<Instant> applied = new ArrayList<>();
+
+  @Test
+  void eachPassStartsOneOverlapBeforeTheNewestStampSeen() {
+    Instant first = Instant.parse("2025-05-11T12:00:00Z");
+    Instant second = Instant.parse("2025-05-11T12:00:10Z");
+
+    poll(second, first);
+    poll();
+
+    assertThat(queried)
+        .containsExactly(Instant.EPOCH.minus(Watermark.OVERLAP), second.minus(Watermark.OVERLAP));
+    assertThat(applied).containsExactly(second, first);
+  }
+
+  @Test
+  void rowsWithoutAStampAreAppliedWithoutMovingTheWatermark() {
+    poll((Instant) null);
+    poll();
+
+    assertThat(applied).containsNull();
+    assertThat(queried).containsOnly(Instant.EPOCH.minus(Watermark.OVERLAP));
+  }
+
+  @Test
+  void closesTheQueriedStream() {
+    List<Boolean> closed = new ArrayList<>();
+
+    watermark.poll(
+        since -> Stream.<Instant>empty().onClose(() -> closed.add(true)), t -> t, t -> {});
+
+    assertThat(closed).containsExactly(true);
+  }
+
+  private void poll(Instant... stamps) {
+    watermark.poll(
+        since -> {
+          queried.add(since);
+          return Stream.of(stamps);
+        },
+        stamp -> stamp,
+        applied::add);
+  }
+}